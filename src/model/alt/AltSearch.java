@@ -0,0 +1,98 @@
+package model.alt;
+
+import model.dijkstra.Dijkstra;
+import model.dijkstra.PathResult;
+import model.dijkstra.SearchWorkspace;
+import model.graph.CsrGraph;
+import model.graph.Graph;
+import model.graph.Vertex;
+import model.prioQ.DoubleMinHeap;
+
+
+/**
+ * A* path finding with precomputed {@link Landmarks} as lower bounds. The bound of a vertex
+ * is the larger of the landmark bound and the straight line bound used by
+ * {@link model.dijkstra.AStar}, both never overestimate so the path found is the same as
+ * the one Dijkstra finds. The landmark tables are built once and shared by every query.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class AltSearch<T> {
+    private final Landmarks<T> landmarks;
+    private int settledCount;
+
+    public AltSearch(Landmarks<T> landmarks) {
+        this.landmarks = landmarks;
+    }
+
+
+    /**
+     * Calculates the path with the lowest weight given a start and end vertex.
+     *
+     * @param startVertex the vertex where the algorithm starts.
+     * @param endVertex   the vertex which the algorithm should reach.
+     * @return a graph object which consists of the vertices and edges of the calculated path.
+     */
+    public Graph<T> getLowWeightPathGraph(Vertex<T> startVertex, Vertex<T> endVertex) {
+        return getLowWeightPath(startVertex, endVertex).toGraph();
+    }
+
+
+    /**
+     * Calculates the path with the lowest weight given a start and end vertex.
+     *
+     * @param startVertex the vertex where the algorithm starts.
+     * @param endVertex   the vertex which the algorithm should reach.
+     * @return the vertices, hop weights and total weight of the path, empty if the end vertex is not reached.
+     */
+    public PathResult<T> getLowWeightPath(Vertex<T> startVertex, Vertex<T> endVertex) {
+        CsrGraph<T> graph = landmarks.getGraph();
+        int start = graph.getId(startVertex.getInfo());
+        int end = graph.getId(endVertex.getInfo());
+
+        if (start == -1 || end == -1) {
+            return PathResult.empty();
+        }
+
+        SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.numberOfVertices());
+        DoubleMinHeap queue = workspace.getQueue();
+        queue.insert(start, lowerBound(graph, start, end));
+        workspace.set(start, 0.0, -1);
+        settledCount = 0;
+
+        while (!queue.isEmpty() && queue.peekKey() != Double.POSITIVE_INFINITY) {
+            int current = queue.extractMin();
+            settledCount++;
+            if (current == end) {
+                break;
+            }
+
+            double currentWeight = workspace.getWeight(current);
+            for (int e = graph.edgeStart(current); e < graph.edgeEnd(current); e++) {
+                int next = graph.target(e);
+                double nextWeight = currentWeight + graph.weight(e);
+                if (nextWeight < workspace.getWeight(next)) {
+                    workspace.set(next, nextWeight, current);
+                    queue.insertOrDecrease(next, nextWeight + lowerBound(graph, next, end));
+                }
+            }
+        }
+
+        return Dijkstra.buildPath(graph, workspace, end);
+    }
+
+
+    /**
+     * The number of vertices dequeued by the last search.
+     *
+     * @return the number of settled vertices.
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+
+    private double lowerBound(CsrGraph<T> graph, int from, int to) {
+        return Math.max(landmarks.lowerBound(from, to), graph.getMinWeightPerDistance() * graph.distance(from, to));
+    }
+}
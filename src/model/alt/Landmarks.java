@@ -0,0 +1,268 @@
+package model.alt;
+
+import model.dijkstra.Dijkstra;
+import model.graph.CsrGraph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+
+/**
+ * Landmark distance tables for ALT (A*, Landmarks, Triangle inequality) searches.
+ * For every landmark L the path weight from L to every vertex and from every vertex to L
+ * is precomputed, both are needed since the two directions of an edge have different weights.
+ * By the triangle inequality d(v, t) is at least d(L, t) - d(L, v) and d(v, L) - d(t, L),
+ * and the largest of these over all landmarks is used as the A* lower bound in {@link AltSearch}.
+ * <p>
+ * The tables are stored vertex by vertex, so evaluating the bound for one vertex reads
+ * one contiguous block. They can be saved to and loaded from a file so the
+ * preprocessing is not repeated at every start.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class Landmarks<T> {
+    private static final int FILE_MAGIC = 0x414C5431;
+
+    /**
+     * How the landmarks are chosen.
+     * FARTHEST picks each new landmark as far as possible from the ones already chosen.
+     * PLANAR splits the plane around the centre of the graph into equal sectors and picks
+     * the vertex farthest from the centre in each sector.
+     */
+    public enum Selection {
+        FARTHEST,
+        PLANAR
+    }
+
+    private final CsrGraph<T> graph;
+    private final int[] landmarks;
+    private final double[] fromLandmarks;
+    private final double[] toLandmarks;
+
+
+    private Landmarks(CsrGraph<T> graph, int[] landmarks, double[] fromLandmarks, double[] toLandmarks) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.fromLandmarks = fromLandmarks;
+        this.toLandmarks = toLandmarks;
+    }
+
+
+    /**
+     * Chooses the landmarks and computes their distance tables. The searches from and
+     * to the landmarks run in parallel.
+     *
+     * @param graph     the snapshot to preprocess.
+     * @param count     the number of landmarks, at most the number of vertices.
+     * @param selection how the landmarks are chosen.
+     * @return the landmark tables.
+     */
+    public static <T> Landmarks<T> build(CsrGraph<T> graph, int count, Selection selection) {
+        int n = graph.numberOfVertices();
+        int k = Math.min(count, n);
+        if (k <= 0) {
+            throw new IllegalArgumentException("At least one landmark and one vertex are needed!");
+        }
+
+        double[][] from = new double[k][];
+        double[][] to = new double[k][];
+        int[] chosen;
+
+        if (selection == Selection.PLANAR) {
+            chosen = selectPlanar(graph, k);
+            computeTables(graph, chosen, 0, chosen.length, from, to);
+        } else {
+            chosen = new int[k];
+            double[] minDistance = new Dijkstra<T>().getLowestWeights(graph, 0);
+            for (int i = 0; i < k; i++) {
+                chosen[i] = farthest(minDistance);
+                computeTables(graph, chosen, i, i + 1, from, to);
+                for (int v = 0; v < n; v++) {
+                    minDistance[v] = i == 0 ? from[i][v] : Math.min(minDistance[v], from[i][v]);
+                }
+            }
+        }
+
+        double[] fromLandmarks = new double[n * chosen.length];
+        double[] toLandmarks = new double[n * chosen.length];
+        for (int i = 0; i < chosen.length; i++) {
+            for (int v = 0; v < n; v++) {
+                fromLandmarks[v * chosen.length + i] = from[i][v];
+                toLandmarks[v * chosen.length + i] = to[i][v];
+            }
+        }
+        return new Landmarks<>(graph, chosen, fromLandmarks, toLandmarks);
+    }
+
+
+    /**
+     * Loads landmark tables saved with {@link #save(File)}.
+     *
+     * @param graph the snapshot the tables were built from.
+     * @param file  the file to read.
+     * @return the landmark tables.
+     * @throws IOException if the file cannot be read or was built from another graph.
+     */
+    public static <T> Landmarks<T> load(CsrGraph<T> graph, File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("Not a landmark file: " + file.getAbsolutePath());
+            }
+            if (in.readInt() != graph.numberOfVertices() || in.readLong() != graph.fingerprint()) {
+                throw new IOException("Landmark file does not match the graph: " + file.getAbsolutePath());
+            }
+
+            int k = in.readInt();
+            int[] landmarks = new int[k];
+            for (int i = 0; i < k; i++) {
+                landmarks[i] = in.readInt();
+            }
+
+            int size = k * graph.numberOfVertices();
+            double[] fromLandmarks = new double[size];
+            double[] toLandmarks = new double[size];
+            for (int i = 0; i < size; i++) {
+                fromLandmarks[i] = in.readDouble();
+            }
+            for (int i = 0; i < size; i++) {
+                toLandmarks[i] = in.readDouble();
+            }
+            return new Landmarks<>(graph, landmarks, fromLandmarks, toLandmarks);
+        }
+    }
+
+
+    /**
+     * Saves the landmark tables together with a fingerprint of the graph.
+     *
+     * @param file the file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(graph.numberOfVertices());
+            out.writeLong(graph.fingerprint());
+            out.writeInt(landmarks.length);
+            for (int landmark : landmarks) {
+                out.writeInt(landmark);
+            }
+            for (double weight : fromLandmarks) {
+                out.writeDouble(weight);
+            }
+            for (double weight : toLandmarks) {
+                out.writeDouble(weight);
+            }
+        }
+    }
+
+
+    /**
+     * A lower bound of the lowest path weight from one vertex to another.
+     *
+     * @param from the dense id of the first vertex.
+     * @param to   the dense id of the second vertex.
+     * @return the largest landmark bound, positive infinity when the tables show there is no path.
+     */
+    public double lowerBound(int from, int to) {
+        int k = landmarks.length;
+        int fromIdx = from * k;
+        int toIdx = to * k;
+        double best = 0.0;
+
+        for (int i = 0; i < k; i++) {
+            // Unreachable landmarks give infinity - infinity = NaN, which never compares greater.
+            double viaFrom = fromLandmarks[toIdx + i] - fromLandmarks[fromIdx + i];
+            double viaTo = toLandmarks[fromIdx + i] - toLandmarks[toIdx + i];
+            if (viaFrom > best) {
+                best = viaFrom;
+            }
+            if (viaTo > best) {
+                best = viaTo;
+            }
+        }
+        return best;
+    }
+
+
+    public CsrGraph<T> getGraph() {
+        return graph;
+    }
+
+
+    public int numberOfLandmarks() {
+        return landmarks.length;
+    }
+
+
+    public int getLandmark(int i) {
+        return landmarks[i];
+    }
+
+
+    // Runs the searches from and to the landmarks chosen[first..last) in parallel.
+    private static <T> void computeTables(CsrGraph<T> graph, int[] chosen, int first, int last,
+                                          double[][] from, double[][] to) {
+        CsrGraph<T> reverse = graph.reverse();
+        int count = last - first;
+
+        IntStream.range(0, 2 * count).parallel().forEach(task -> {
+            int i = first + task / 2;
+            if (task % 2 == 0) {
+                from[i] = new Dijkstra<T>().getLowestWeights(graph, chosen[i]);
+            } else {
+                to[i] = new Dijkstra<T>().getLowestWeights(reverse, chosen[i]);
+            }
+        });
+    }
+
+
+    private static int farthest(double[] distance) {
+        int best = 0;
+        for (int v = 1; v < distance.length; v++) {
+            if (distance[v] != Double.POSITIVE_INFINITY
+                    && (distance[best] == Double.POSITIVE_INFINITY || distance[v] > distance[best])) {
+                best = v;
+            }
+        }
+        return best;
+    }
+
+
+    private static <T> int[] selectPlanar(CsrGraph<T> graph, int k) {
+        int n = graph.numberOfVertices();
+        double centerX = 0;
+        double centerY = 0;
+        for (int v = 0; v < n; v++) {
+            centerX += graph.getX(v) / n;
+            centerY += graph.getY(v) / n;
+        }
+
+        int[] best = new int[k];
+        double[] bestDistance = new double[k];
+        Arrays.fill(best, -1);
+
+        for (int v = 0; v < n; v++) {
+            double dX = graph.getX(v) - centerX;
+            double dY = graph.getY(v) - centerY;
+            double angle = Math.atan2(dY, dX) + Math.PI;
+            int sector = Math.min((int) (angle / (2 * Math.PI) * k), k - 1);
+            double distance = dX * dX + dY * dY;
+            if (best[sector] == -1 || distance > bestDistance[sector]) {
+                best[sector] = v;
+                bestDistance[sector] = distance;
+            }
+        }
+
+        // Empty sectors are skipped.
+        return IntStream.of(best).filter(v -> v != -1).toArray();
+    }
+}
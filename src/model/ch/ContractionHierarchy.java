@@ -0,0 +1,704 @@
+package model.ch;
+
+import model.dijkstra.PathResult;
+import model.graph.CsrGraph;
+import model.graph.Graph;
+import model.graph.Vertex;
+import model.prioQ.DoubleMinHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+
+/**
+ * A contraction hierarchy over a {@link CsrGraph} snapshot for fast repeated path queries.
+ * <p>
+ * Preprocessing contracts the vertices one at a time in order of importance. When a vertex
+ * is removed, a shortcut edge is added between each pair of its remaining neighbours unless a
+ * local witness search finds a path that is at least as light without it. The importance is
+ * the edge difference (shortcuts added minus edges removed) plus the number of contracted
+ * neighbours, and it is updated lazily.
+ * <p>
+ * A query runs a forward search from the start and a backward search from the end, both only
+ * following edges towards vertices contracted later. The lowest sum where they meet is the
+ * lowest path weight, and shortcuts are unpacked recursively into the original edges.
+ * Tables between many sources and targets are filled with one upward search per vertex, see
+ * {@link #getWeightTable(int[], int[], int)}.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class ContractionHierarchy<T> {
+    // A witness search that gives up only adds an unneeded shortcut, the result stays correct.
+    // The priority estimate runs far more often and uses a shorter search.
+    private static final int WITNESS_SETTLE_LIMIT = 100;
+    private static final int ESTIMATE_SETTLE_LIMIT = 20;
+    // Table workers idle this long are stopped, and their query state with them.
+    private static final long TABLE_WORKER_KEEP_ALIVE_MINUTES = 30;
+
+    private final CsrGraph<T> graph;
+
+    // Every edge of the hierarchy, original and shortcut, middle is -1 for original edges.
+    private final int[] arcFrom;
+    private final int[] arcTo;
+    private final double[] arcWeights;
+    private final int[] arcMiddles;
+    private final Map<Long, Integer> arcIndex;
+
+    // Edges u -> w where u was contracted before w, grouped by u.
+    private final int[] upOffsets;
+    private final int[] upArcs;
+    // Edges u -> w where w was contracted before u, grouped by w.
+    private final int[] downOffsets;
+    private final int[] downArcs;
+
+    private final ThreadLocal<QueryState> queryState;
+    // Kept between table calls so every worker reuses its query state instead of allocating one.
+    private ForkJoinPool tablePool;
+    private int shortcutCount;
+
+
+    private static final class Arc {
+        final int from;
+        final int to;
+        double weight;
+        int middle;
+
+        Arc(int from, int to, double weight, int middle) {
+            this.from = from;
+            this.to = to;
+            this.weight = weight;
+            this.middle = middle;
+        }
+    }
+
+
+    /**
+     * Builds the hierarchy. This runs the node ordering, witness searches and shortcut
+     * creation, and is done once per snapshot.
+     *
+     * @param graph the snapshot to preprocess.
+     */
+    @SuppressWarnings("unchecked")
+    public ContractionHierarchy(CsrGraph<T> graph) {
+        this.graph = graph;
+        int n = graph.numberOfVertices();
+
+        List<Arc>[] out = (List<Arc>[]) new List<?>[n];
+        List<Arc>[] in = (List<Arc>[]) new List<?>[n];
+        for (int v = 0; v < n; v++) {
+            out[v] = new ArrayList<>();
+            in[v] = new ArrayList<>();
+        }
+        for (int e = 0; e < graph.numberOfArcs(); e++) {
+            if (graph.source(e) != graph.target(e)) {
+                addOrImprove(out, in, graph.source(e), graph.target(e), graph.weight(e), -1);
+            }
+        }
+
+        Witness witness = new Witness(n);
+        int[] contractedNeighbours = new int[n];
+
+        DoubleMinHeap order = new DoubleMinHeap(n);
+        for (int v = 0; v < n; v++) {
+            order.insert(v, priority(v, out, in, witness, contractedNeighbours));
+        }
+
+        while (!order.isEmpty()) {
+            int v = order.extractMin();
+            double updated = priority(v, out, in, witness, contractedNeighbours);
+            if (!order.isEmpty() && updated > order.peekKey()) {
+                order.insert(v, updated);
+                continue;
+            }
+
+            contract(v, out, in, witness, true);
+
+            for (Arc arc : out[v]) {
+                contractedNeighbours[arc.to]++;
+            }
+            for (Arc arc : in[v]) {
+                contractedNeighbours[arc.from]++;
+            }
+            for (Arc arc : out[v]) {
+                order.updateKey(arc.to, priority(arc.to, out, in, witness, contractedNeighbours));
+            }
+            for (Arc arc : in[v]) {
+                order.updateKey(arc.from, priority(arc.from, out, in, witness, contractedNeighbours));
+            }
+        }
+
+        // What is left in the lists of a vertex are the edges to vertices contracted later.
+        int total = 0;
+        for (int v = 0; v < n; v++) {
+            total += out[v].size() + in[v].size();
+        }
+
+        arcFrom = new int[total];
+        arcTo = new int[total];
+        arcWeights = new double[total];
+        arcMiddles = new int[total];
+        arcIndex = new HashMap<>(total * 2);
+        upOffsets = new int[n + 1];
+        downOffsets = new int[n + 1];
+        upArcs = new int[total];
+        downArcs = new int[total];
+
+        int a = 0;
+        int up = 0;
+        int down = 0;
+        for (int v = 0; v < n; v++) {
+            for (Arc arc : out[v]) {
+                storeArc(a, arc);
+                upArcs[up++] = a++;
+            }
+            upOffsets[v + 1] = up;
+            for (Arc arc : in[v]) {
+                storeArc(a, arc);
+                downArcs[down++] = a++;
+            }
+            downOffsets[v + 1] = down;
+        }
+
+        queryState = ThreadLocal.withInitial(() -> new QueryState(n));
+    }
+
+
+    /**
+     * Calculates the path with the lowest weight given a start and end vertex.
+     *
+     * @param startVertex the vertex where the algorithm starts.
+     * @param endVertex   the vertex which the algorithm should reach.
+     * @return a graph object which consists of the vertices and edges of the calculated path,
+     * in the same form as {@link model.dijkstra.Dijkstra} returns it.
+     */
+    public Graph<T> getLowWeightPathGraph(Vertex<T> startVertex, Vertex<T> endVertex) {
+        return getLowWeightPath(startVertex, endVertex).toGraph();
+    }
+
+
+    /**
+     * Calculates the path with the lowest weight given a start and end vertex.
+     *
+     * @param startVertex the vertex where the algorithm starts.
+     * @param endVertex   the vertex which the algorithm should reach.
+     * @return the vertices, hop weights and total weight of the path, empty if the end vertex is not reached.
+     */
+    public PathResult<T> getLowWeightPath(Vertex<T> startVertex, Vertex<T> endVertex) {
+        int[] path = findPath(graph.getId(startVertex.getInfo()), graph.getId(endVertex.getInfo()));
+        if (path == null) {
+            return PathResult.empty();
+        }
+
+        List<Vertex<T>> vertices = new ArrayList<>(path.length);
+        double[] hopWeights = new double[path.length - 1];
+        double totalWeight = 0.0;
+        for (int i = 0; i < path.length; i++) {
+            vertices.add(graph.getVertex(path[i]));
+            if (i > 0) {
+                hopWeights[i - 1] = weightOf(path[i - 1], path[i]);
+                totalWeight += hopWeights[i - 1];
+            }
+        }
+        return new PathResult<>(vertices, hopWeights, totalWeight);
+    }
+
+
+    /**
+     * Calculates the lowest path weight between two vertices without unpacking the path.
+     *
+     * @param start the dense id of the start vertex.
+     * @param end   the dense id of the end vertex.
+     * @return the lowest path weight, positive infinity if the end cannot be reached.
+     */
+    public double getLowestWeight(int start, int end) {
+        if (start < 0 || end < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        QueryState state = queryState.get();
+        search(state, start, end);
+        return state.bestWeight;
+    }
+
+
+    /**
+     * Calculates the lowest weight path as a sequence of dense vertex ids, with every
+     * shortcut unpacked into original edges.
+     *
+     * @param start the dense id of the start vertex.
+     * @param end   the dense id of the end vertex.
+     * @return the vertex ids from start to end, or null if the end cannot be reached.
+     */
+    public int[] findPath(int start, int end) {
+        if (start < 0 || end < 0) {
+            return null;
+        }
+        QueryState state = queryState.get();
+        search(state, start, end);
+        if (state.meeting == -1) {
+            return null;
+        }
+
+        List<Integer> arcs = new ArrayList<>();
+        for (int v = state.meeting; state.forwardParent[v] != -1; v = arcFrom[state.forwardParent[v]]) {
+            arcs.add(state.forwardParent[v]);
+        }
+        Collections.reverse(arcs);
+        for (int v = state.meeting; state.backwardParent[v] != -1; v = arcTo[state.backwardParent[v]]) {
+            arcs.add(state.backwardParent[v]);
+        }
+
+        List<Integer> path = new ArrayList<>();
+        path.add(start);
+        for (int arc : arcs) {
+            unpack(arc, path);
+        }
+        return path.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+
+    /**
+     * Calculates the lowest path weight from every source to every target on all available processors.
+     *
+     * @param sources the start vertices.
+     * @param targets the end vertices.
+     * @return the path weights row by row, the weight from sources[i] to targets[j] at
+     * i * targets.size() + j, positive infinity where there is no path.
+     */
+    public double[] getWeightTable(List<Vertex<T>> sources, List<Vertex<T>> targets) {
+        int[] sourceIds = new int[sources.size()];
+        int[] targetIds = new int[targets.size()];
+        for (int i = 0; i < sourceIds.length; i++) {
+            sourceIds[i] = graph.getId(sources.get(i).getInfo());
+        }
+        for (int j = 0; j < targetIds.length; j++) {
+            targetIds[j] = graph.getId(targets.get(j).getInfo());
+        }
+        return getWeightTable(sourceIds, targetIds, Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * Calculates the lowest path weight from every source to every target with buckets, which
+     * costs one upward search per source and per target instead of one query per pair.
+     * <p>
+     * The backward upward search from each target leaves an entry with the target and its
+     * weight in a bucket at every vertex it reaches. The forward upward search from each source
+     * then scans the buckets of the vertices it reaches, and the lowest forward weight plus
+     * bucket weight per target is the path weight, since every lowest weight path has a highest
+     * vertex reached by both searches. Both phases run in parallel over the targets and sources,
+     * on worker threads that are kept between calls so their query state is reused.
+     *
+     * @param sources     the dense ids of the start vertices.
+     * @param targets     the dense ids of the end vertices.
+     * @param parallelism the number of worker threads.
+     * @return the path weights row by row, the weight from sources[i] to targets[j] at
+     * i * targets.length + j, positive infinity where there is no path or an id is -1.
+     */
+    public double[] getWeightTable(int[] sources, int[] targets, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("At least one worker thread is needed!");
+        }
+        int n = graph.numberOfVertices();
+        double[] table = new double[sources.length * targets.length];
+        Arrays.fill(table, Double.POSITIVE_INFINITY);
+
+        ForkJoinPool pool = tablePool(parallelism);
+        List<SearchSpace> backward = pool.submit(() -> IntStream.range(0, targets.length).parallel()
+                .mapToObj(j -> upwardSearch(targets[j], false))
+                .toList()).join();
+
+        // The buckets of all vertices in flat arrays, grouped by vertex.
+        int[] bucketOffsets = new int[n + 1];
+        for (SearchSpace space : backward) {
+            for (int i = 0; i < space.vertices.length; i++) {
+                bucketOffsets[space.vertices[i] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            bucketOffsets[v + 1] += bucketOffsets[v];
+        }
+        int[] bucketTargets = new int[bucketOffsets[n]];
+        double[] bucketWeights = new double[bucketOffsets[n]];
+        int[] next = Arrays.copyOf(bucketOffsets, n);
+        for (int j = 0; j < targets.length; j++) {
+            SearchSpace space = backward.get(j);
+            for (int i = 0; i < space.vertices.length; i++) {
+                int entry = next[space.vertices[i]]++;
+                bucketTargets[entry] = j;
+                bucketWeights[entry] = space.weights[i];
+            }
+        }
+
+        pool.submit(() -> IntStream.range(0, sources.length).parallel().forEach(i -> {
+            SearchSpace space = upwardSearch(sources[i], true);
+            int row = i * targets.length;
+            for (int k = 0; k < space.vertices.length; k++) {
+                int v = space.vertices[k];
+                for (int entry = bucketOffsets[v]; entry < bucketOffsets[v + 1]; entry++) {
+                    double weight = space.weights[k] + bucketWeights[entry];
+                    if (weight < table[row + bucketTargets[entry]]) {
+                        table[row + bucketTargets[entry]] = weight;
+                    }
+                }
+            }
+        })).join();
+        return table;
+    }
+
+
+    // The pool is only replaced when the parallelism changes. The old one is not shut down, since a
+    // running table may still use it, its workers stop once they have been idle for the keep alive.
+    private synchronized ForkJoinPool tablePool(int parallelism) {
+        if (tablePool == null || tablePool.getParallelism() != parallelism) {
+            tablePool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null,
+                    false, 0, Short.MAX_VALUE, 1, null, TABLE_WORKER_KEEP_ALIVE_MINUTES, TimeUnit.MINUTES);
+        }
+        return tablePool;
+    }
+
+
+    public CsrGraph<T> getGraph() {
+        return graph;
+    }
+
+
+    /**
+     * Returns the number of shortcut edges added during preprocessing.
+     *
+     * @return number of shortcuts
+     */
+    public int numberOfShortcuts() {
+        return shortcutCount;
+    }
+
+
+    // Bidirectional search over the upward edges, sets bestWeight, meeting and the parent arcs.
+    private void search(QueryState state, int start, int end) {
+        state.reset();
+        state.forwardWeights[start] = 0.0;
+        state.backwardWeights[end] = 0.0;
+        state.touch(start);
+        state.touch(end);
+        state.forwardQueue.insert(start, 0.0);
+        state.backwardQueue.insert(end, 0.0);
+
+        while (!state.forwardQueue.isEmpty() || !state.backwardQueue.isEmpty()) {
+            boolean forwardDone = state.forwardQueue.peekKey() >= state.bestWeight;
+            boolean backwardDone = state.backwardQueue.peekKey() >= state.bestWeight;
+            if (forwardDone && backwardDone) {
+                break;
+            }
+
+            boolean forward = !forwardDone
+                    && (backwardDone || state.forwardQueue.peekKey() <= state.backwardQueue.peekKey());
+            if (forward) {
+                int current = state.forwardQueue.extractMin();
+                relax(state, current, true);
+            } else {
+                int current = state.backwardQueue.extractMin();
+                relax(state, current, false);
+            }
+        }
+    }
+
+
+    // A complete search over the upward edges, every vertex it settles with its weight. A vertex
+    // reached lighter through an edge from a higher vertex is stalled: its weight is not the lowest,
+    // so it is left out and not expanded, which keeps the search spaces and buckets small.
+    private SearchSpace upwardSearch(int start, boolean forward) {
+        if (start < 0) {
+            return new SearchSpace(new int[0], new double[0]);
+        }
+        QueryState state = queryState.get();
+        state.reset();
+        double[] weights = forward ? state.forwardWeights : state.backwardWeights;
+        DoubleMinHeap queue = forward ? state.forwardQueue : state.backwardQueue;
+        int[] offsets = forward ? downOffsets : upOffsets;
+        int[] arcs = forward ? downArcs : upArcs;
+        weights[start] = 0.0;
+        state.touch(start);
+        queue.insert(start, 0.0);
+
+        int[] vertices = new int[16];
+        double[] reached = new double[16];
+        int count = 0;
+        while (!queue.isEmpty()) {
+            int current = queue.extractMin();
+            boolean stalled = false;
+            for (int i = offsets[current]; i < offsets[current + 1] && !stalled; i++) {
+                int higher = forward ? arcFrom[arcs[i]] : arcTo[arcs[i]];
+                stalled = weights[higher] + arcWeights[arcs[i]] < weights[current];
+            }
+            if (stalled) {
+                continue;
+            }
+
+            if (count == vertices.length) {
+                vertices = Arrays.copyOf(vertices, count * 2);
+                reached = Arrays.copyOf(reached, count * 2);
+            }
+            vertices[count] = current;
+            reached[count++] = weights[current];
+            relax(state, current, forward);
+        }
+        return new SearchSpace(Arrays.copyOf(vertices, count), Arrays.copyOf(reached, count));
+    }
+
+
+    private void relax(QueryState state, int current, boolean forward) {
+        double[] weights = forward ? state.forwardWeights : state.backwardWeights;
+        double[] otherWeights = forward ? state.backwardWeights : state.forwardWeights;
+        int[] parent = forward ? state.forwardParent : state.backwardParent;
+        DoubleMinHeap queue = forward ? state.forwardQueue : state.backwardQueue;
+        int[] offsets = forward ? upOffsets : downOffsets;
+        int[] arcs = forward ? upArcs : downArcs;
+
+        if (weights[current] + otherWeights[current] < state.bestWeight) {
+            state.bestWeight = weights[current] + otherWeights[current];
+            state.meeting = current;
+        }
+
+        for (int i = offsets[current]; i < offsets[current + 1]; i++) {
+            int arc = arcs[i];
+            int next = forward ? arcTo[arc] : arcFrom[arc];
+            double currentWeight = weights[current] + arcWeights[arc];
+            if (currentWeight < weights[next]) {
+                state.touch(next);
+                weights[next] = currentWeight;
+                parent[next] = arc;
+                queue.insertOrDecrease(next, currentWeight);
+            }
+        }
+    }
+
+
+    private void unpack(int arc, List<Integer> path) {
+        int middle = arcMiddles[arc];
+        if (middle == -1) {
+            path.add(arcTo[arc]);
+            return;
+        }
+        unpack(arcIndex.get(key(arcFrom[arc], middle)), path);
+        unpack(arcIndex.get(key(middle, arcTo[arc])), path);
+    }
+
+
+    private double weightOf(int from, int to) {
+        Integer arc = arcIndex.get(key(from, to));
+        return arc == null ? 0.0 : arcWeights[arc];
+    }
+
+
+    private void storeArc(int idx, Arc arc) {
+        arcFrom[idx] = arc.from;
+        arcTo[idx] = arc.to;
+        arcWeights[idx] = arc.weight;
+        arcMiddles[idx] = arc.middle;
+        arcIndex.put(key(arc.from, arc.to), idx);
+        if (arc.middle != -1) {
+            shortcutCount++;
+        }
+    }
+
+
+    private static long key(int from, int to) {
+        return ((long) from << 32) | (to & 0xffffffffL);
+    }
+
+
+    private static double priority(int v, List<Arc>[] out, List<Arc>[] in, Witness witness, int[] contractedNeighbours) {
+        int shortcuts = contract(v, out, in, witness, false);
+        return shortcuts - out[v].size() - in[v].size() + contractedNeighbours[v];
+    }
+
+
+    /**
+     * Finds the shortcuts needed to remove v. When apply is true they are added and v is
+     * unlinked from its neighbours, otherwise they are only counted.
+     */
+    private static int contract(int v, List<Arc>[] out, List<Arc>[] in, Witness witness, boolean apply) {
+        int shortcuts = 0;
+
+        for (Arc inArc : in[v]) {
+            int u = inArc.from;
+            double maxWeight = 0.0;
+            for (Arc outArc : out[v]) {
+                if (outArc.to != u) {
+                    maxWeight = Math.max(maxWeight, inArc.weight + outArc.weight);
+                }
+            }
+
+            witness.search(u, v, maxWeight, apply ? WITNESS_SETTLE_LIMIT : ESTIMATE_SETTLE_LIMIT, out);
+            for (Arc outArc : out[v]) {
+                int w = outArc.to;
+                double via = inArc.weight + outArc.weight;
+                if (w != u && witness.weightTo(w) > via) {
+                    shortcuts++;
+                    if (apply) {
+                        addOrImprove(out, in, u, w, via, v);
+                    }
+                }
+            }
+        }
+
+        if (apply) {
+            for (Arc inArc : in[v]) {
+                out[inArc.from].remove(inArc);
+            }
+            for (Arc outArc : out[v]) {
+                in[outArc.to].remove(outArc);
+            }
+        }
+        return shortcuts;
+    }
+
+
+    private static void addOrImprove(List<Arc>[] out, List<Arc>[] in, int from, int to, double weight, int middle) {
+        for (Arc arc : out[from]) {
+            if (arc.to == to) {
+                if (weight < arc.weight) {
+                    arc.weight = weight;
+                    arc.middle = middle;
+                }
+                return;
+            }
+        }
+        Arc arc = new Arc(from, to, weight, middle);
+        out[from].add(arc);
+        in[to].add(arc);
+    }
+
+
+    /**
+     * A Dijkstra search limited by weight and settled vertices, used to look for a path
+     * that makes a shortcut unnecessary. The arrays are reset through a touched list.
+     */
+    private static final class Witness {
+        private final double[] weights;
+        private final int[] touched;
+        private final DoubleMinHeap queue;
+        private int touchedCount;
+
+        Witness(int n) {
+            weights = new double[n];
+            touched = new int[n];
+            queue = new DoubleMinHeap(n);
+            Arrays.fill(weights, Double.POSITIVE_INFINITY);
+        }
+
+        void search(int start, int excluded, double maxWeight, int settleLimit, List<Arc>[] out) {
+            for (int i = 0; i < touchedCount; i++) {
+                weights[touched[i]] = Double.POSITIVE_INFINITY;
+            }
+            touchedCount = 0;
+            queue.clear();
+
+            weights[start] = 0.0;
+            touched[touchedCount++] = start;
+            queue.insert(start, 0.0);
+
+            int settled = 0;
+            while (!queue.isEmpty() && settled < settleLimit) {
+                if (queue.peekKey() > maxWeight) {
+                    break;
+                }
+                int current = queue.extractMin();
+                settled++;
+
+                for (Arc arc : out[current]) {
+                    if (arc.to == excluded) {
+                        continue;
+                    }
+                    double currentWeight = weights[current] + arc.weight;
+                    if (currentWeight < weights[arc.to]) {
+                        if (weights[arc.to] == Double.POSITIVE_INFINITY) {
+                            touched[touchedCount++] = arc.to;
+                        }
+                        weights[arc.to] = currentWeight;
+                        queue.insertOrDecrease(arc.to, currentWeight);
+                    }
+                }
+            }
+        }
+
+        double weightTo(int v) {
+            return weights[v];
+        }
+    }
+
+
+    // The vertices reached by an upward search and their weights.
+    private static final class SearchSpace {
+        final int[] vertices;
+        final double[] weights;
+
+        SearchSpace(int[] vertices, double[] weights) {
+            this.vertices = vertices;
+            this.weights = weights;
+        }
+    }
+
+
+    /**
+     * Per thread query arrays, reset through a touched list so a query only pays for the
+     * vertices it reaches.
+     */
+    private static final class QueryState {
+        final double[] forwardWeights;
+        final double[] backwardWeights;
+        final int[] forwardParent;
+        final int[] backwardParent;
+        final DoubleMinHeap forwardQueue;
+        final DoubleMinHeap backwardQueue;
+        final boolean[] isTouched;
+        final int[] touched;
+        int touchedCount;
+        double bestWeight;
+        int meeting;
+
+        QueryState(int n) {
+            forwardWeights = new double[n];
+            backwardWeights = new double[n];
+            forwardParent = new int[n];
+            backwardParent = new int[n];
+            forwardQueue = new DoubleMinHeap(n);
+            backwardQueue = new DoubleMinHeap(n);
+            isTouched = new boolean[n];
+            touched = new int[n];
+            Arrays.fill(forwardWeights, Double.POSITIVE_INFINITY);
+            Arrays.fill(backwardWeights, Double.POSITIVE_INFINITY);
+            Arrays.fill(forwardParent, -1);
+            Arrays.fill(backwardParent, -1);
+        }
+
+        void touch(int v) {
+            if (!isTouched[v]) {
+                isTouched[v] = true;
+                touched[touchedCount++] = v;
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                int v = touched[i];
+                forwardWeights[v] = Double.POSITIVE_INFINITY;
+                backwardWeights[v] = Double.POSITIVE_INFINITY;
+                forwardParent[v] = -1;
+                backwardParent[v] = -1;
+                isTouched[v] = false;
+            }
+            touchedCount = 0;
+            forwardQueue.clear();
+            backwardQueue.clear();
+            bestWeight = Double.POSITIVE_INFINITY;
+            meeting = -1;
+        }
+    }
+}
@@ -3,12 +3,18 @@ package model.delaunay;
 import model.graph.Graph;
 import model.graph.Vertex;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.GeometryCollection;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.triangulate.DelaunayTriangulationBuilder;
+import org.locationtech.jts.triangulate.IncrementalDelaunayTriangulator;
+import org.locationtech.jts.triangulate.quadedge.QuadEdge;
+import org.locationtech.jts.triangulate.quadedge.QuadEdgeSubdivision;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -61,4 +67,66 @@ public class Delaunay<T> {
         }
         return triangulatedGraph;
     }
+
+
+    /**
+     * Triangulates a list of vertices without building a graph. The edges are read straight
+     * from the JTS quad edge subdivision into a primitive array, as pairs of list indices.
+     * Of vertices sharing coordinates only the one {@link #triangulate(Graph)} keeps for a graph
+     * of the same vertices gets edges.
+     *
+     * @param vertices the vertices to triangulate.
+     * @return the end points of edge i at index 2i and 2i + 1, each edge once.
+     */
+    public int[] triangulateEdges(List<Vertex<T>> vertices) {
+        // A graph holds the first vertex of every info and hands them out in the order of a hash
+        // map on the info, triangulate keeps the last of them for every coordinate.
+        Map<T, Integer> byInfo = new HashMap<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            byInfo.putIfAbsent(vertices.get(i).getInfo(), i);
+        }
+        Map<Coordinate, Integer> kept = new HashMap<>();
+        for (int i : byInfo.values()) {
+            kept.put(new Coordinate(vertices.get(i).getX(), vertices.get(i).getY()), i);
+        }
+
+        // Sorted sites are located faster, each is close to the one before.
+        Integer[] order = kept.values().toArray(new Integer[0]);
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> vertices.get(i).getX())
+                .thenComparingDouble(i -> vertices.get(i).getY()));
+
+        List<Site> sites = new ArrayList<>(order.length);
+        Envelope envelope = new Envelope();
+        for (int i : order) {
+            Vertex<T> v = vertices.get(i);
+            sites.add(new Site(v.getX(), v.getY(), i));
+            envelope.expandToInclude(v.getX(), v.getY());
+        }
+        if (sites.size() < 2) {
+            return new int[0];
+        }
+
+        QuadEdgeSubdivision subdivision = new QuadEdgeSubdivision(envelope, 0.0);
+        new IncrementalDelaunayTriangulator(subdivision).insertSites(sites);
+        @SuppressWarnings("unchecked")
+        List<QuadEdge> primaryEdges = subdivision.getPrimaryEdges(false);
+        int[] edges = new int[2 * primaryEdges.size()];
+        int count = 0;
+        for (QuadEdge edge : primaryEdges) {
+            edges[count++] = ((Site) edge.orig()).index;
+            edges[count++] = ((Site) edge.dest()).index;
+        }
+        return edges;
+    }
+
+
+    // A subdivision vertex that remembers its index in the vertex list.
+    private static class Site extends org.locationtech.jts.triangulate.quadedge.Vertex {
+        private final int index;
+
+        private Site(double x, double y, int index) {
+            super(x, y);
+            this.index = index;
+        }
+    }
 }
@@ -0,0 +1,355 @@
+package model.delaunay;
+
+import model.graph.Edge;
+import model.graph.Graph;
+import model.graph.GraphChangeListener;
+import model.graph.Vertex;
+import org.locationtech.jts.algorithm.Orientation;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.triangulate.IncrementalDelaunayTriangulator;
+import org.locationtech.jts.triangulate.quadedge.QuadEdge;
+import org.locationtech.jts.triangulate.quadedge.QuadEdgeSubdivision;
+import org.locationtech.jts.triangulate.quadedge.TrianglePredicate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Keeps a graph the Delaunay triangulation of its vertices as vertices are added and removed,
+ * touching only the triangles near the change instead of triangulating the whole graph again
+ * with {@link Delaunay}.
+ * <p>
+ * The JTS quad edge subdivision of the graph's vertices is kept between changes, and the edges
+ * of the graph follow it, so listeners such as a {@link model.mst.DynamicMST} see every edge
+ * that is added and removed:
+ * <ul>
+ * <li>a new vertex is located in the subdivision and the triangles whose circumcircle holds it
+ * are replaced. It is joined to its Delaunay neighbours, and the old edges the insertion flipped
+ * away, which all run between two of those neighbours, are removed,</li>
+ * <li>a removed vertex leaves a hole in the subdivision bounded by its former neighbours. The
+ * hole is triangulated again an ear at a time, always cutting off an ear whose circumcircle holds
+ * no other vertex of the hole, and the new edges are added to the graph.</li>
+ * </ul>
+ * The subdivision has the same frame as the one {@link Delaunay#triangulate(Graph)} builds, sized
+ * on the envelope of the vertices, so the edges along the convex hull are the same as well. It is
+ * built again, and every edge of the graph brought in line with it, when the envelope changes:
+ * for a vertex added outside it, or the removal of a vertex on its border. Vertices added to the
+ * graph some other way are picked up the same way on the next insertion. Of vertices sharing
+ * coordinates only one gets edges, as in {@link Delaunay#triangulate(Graph)}.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public final class IncrementalDelaunay<T> implements GraphChangeListener<T> {
+    private final Graph<T> graph;
+    private final Map<Coordinate, Vertex<T>> sites;
+    // The other vertices at the coordinates of a site, which take it over when it is removed.
+    private final Map<Coordinate, List<Vertex<T>>> shadowed;
+    private QuadEdgeSubdivision subdivision;
+    private IncrementalDelaunayTriangulator triangulator;
+    private Envelope bounds;
+    // The vertices of the graph the subdivision holds. Vertices sharing coordinates are one site.
+    private int knownVertices;
+
+    /**
+     * Creates the subdivision of a graph, gives the graph the edges of its triangulation and
+     * registers on it.
+     *
+     * @param graph the Delaunay triangulation to add vertices to.
+     */
+    public IncrementalDelaunay(Graph<T> graph) {
+        this.graph = graph;
+        this.sites = new HashMap<>();
+        this.shadowed = new HashMap<>();
+        rebuild();
+        graph.addChangeListener(this);
+    }
+
+
+    /**
+     * Adds a vertex and the edges to its Delaunay neighbours to the graph, and removes the
+     * edges that are no longer Delaunay edges.
+     *
+     * @param vertex the vertex to add.
+     * @return the neighbours the vertex was joined to.
+     */
+    public List<Vertex<T>> insert(Vertex<T> vertex) {
+        if (graph.getVertex(vertex.getInfo()) != null) {
+            throw new IllegalArgumentException("The vertex is already in the graph!");
+        }
+        Coordinate coordinate = new Coordinate(vertex.getX(), vertex.getY());
+        if (knownVertices != graph.numberOfVertices()) {
+            rebuild();
+        }
+        if (sites.containsKey(coordinate)) {
+            throw new IllegalArgumentException("Another vertex already stands at these coordinates!");
+        }
+
+        graph.addVertex(vertex);
+        sites.put(coordinate, vertex);
+        knownVertices++;
+        if (!bounds.contains(coordinate)) {
+            rebuild();
+            return neighboursOf(coordinate);
+        }
+
+        triangulator.insertSite(new org.locationtech.jts.triangulate.quadedge.Vertex(coordinate));
+        List<Vertex<T>> neighbours = neighboursOf(coordinate);
+        for (Vertex<T> neighbour : neighbours) {
+            graph.addEdge(vertex.getInfo(), neighbour.getInfo());
+        }
+        removeFlippedEdges(neighbours);
+        return neighbours;
+    }
+
+
+    @Override
+    public void vertexRemoved(Vertex<T> vertex) {
+        knownVertices--;
+        Coordinate coordinate = new Coordinate(vertex.getX(), vertex.getY());
+        List<Vertex<T>> others = shadowed.get(coordinate);
+        if (sites.get(coordinate) != vertex) {
+            if (others != null && others.remove(vertex) && others.isEmpty()) {
+                shadowed.remove(coordinate);
+            }
+            return;
+        }
+
+        if (others == null && onBounds(coordinate)) {
+            // The envelope and with it the frame shrink, so the subdivision is built again.
+            rebuild();
+            return;
+        }
+        if (others != null) {
+            // Another vertex at the same place takes over the site and its edges.
+            Vertex<T> next = others.remove(others.size() - 1);
+            if (others.isEmpty()) {
+                shadowed.remove(coordinate);
+            }
+            sites.put(coordinate, next);
+            for (Vertex<T> neighbour : neighboursOf(coordinate)) {
+                graph.addEdge(next.getInfo(), neighbour.getInfo());
+            }
+            return;
+        }
+
+        List<QuadEdge> added = removeSite(coordinate);
+        sites.remove(coordinate);
+        for (QuadEdge edge : added) {
+            Vertex<T> a = sites.get(edge.orig().getCoordinate());
+            Vertex<T> b = sites.get(edge.dest().getCoordinate());
+            if (a != null && b != null) {
+                graph.addEdge(a.getInfo(), b.getInfo());
+            }
+        }
+    }
+
+
+    /**
+     * Stops following the changes of the graph.
+     */
+    public void detach() {
+        graph.removeChangeListener(this);
+    }
+
+
+    // The vertices at the other end of every subdivision edge around a site, frame corners excluded.
+    private List<Vertex<T>> neighboursOf(Coordinate coordinate) {
+        QuadEdge start = edgeFrom(coordinate);
+        List<Vertex<T>> neighbours = new ArrayList<>();
+        QuadEdge edge = start;
+        do {
+            Vertex<T> neighbour = sites.get(edge.dest().getCoordinate());
+            if (neighbour != null && !subdivision.isFrameVertex(edge.dest())) {
+                neighbours.add(neighbour);
+            }
+            edge = edge.oNext();
+        } while (edge != start);
+        return neighbours;
+    }
+
+
+    private boolean onBounds(Coordinate coordinate) {
+        return coordinate.x == bounds.getMinX() || coordinate.x == bounds.getMaxX()
+                || coordinate.y == bounds.getMinY() || coordinate.y == bounds.getMaxY();
+    }
+
+
+    private QuadEdge edgeFrom(Coordinate coordinate) {
+        QuadEdge edge = subdivision.locate(coordinate);
+        return edge.orig().getCoordinate().equals2D(coordinate) ? edge : edge.sym();
+    }
+
+
+    // The edges an insertion flips away ran between two neighbours of the new vertex.
+    private void removeFlippedEdges(List<Vertex<T>> neighbours) {
+        Set<T> around = new HashSet<>();
+        for (Vertex<T> neighbour : neighbours) {
+            around.add(neighbour.getInfo());
+        }
+        List<T> from = new ArrayList<>();
+        List<T> to = new ArrayList<>();
+        for (Vertex<T> neighbour : neighbours) {
+            Set<T> kept = new HashSet<>();
+            for (Vertex<T> v : neighboursOf(new Coordinate(neighbour.getX(), neighbour.getY()))) {
+                kept.add(v.getInfo());
+            }
+            for (Edge<T> edge : graph.getEdges(neighbour.getInfo())) {
+                T other = edge.getTo().getInfo();
+                if (around.contains(other) && !kept.contains(other)) {
+                    from.add(neighbour.getInfo());
+                    to.add(other);
+                }
+            }
+        }
+        for (int i = 0; i < from.size(); i++) {
+            graph.removeEdge(from.get(i), to.get(i));
+        }
+    }
+
+
+    // Takes a site out of the subdivision and triangulates the hole it leaves, returns the new edges.
+    private List<QuadEdge> removeSite(Coordinate coordinate) {
+        QuadEdge start = edgeFrom(coordinate);
+        List<QuadEdge> spokes = new ArrayList<>();
+        // The edges around the hole in counterclockwise order, each with the hole on its left.
+        List<QuadEdge> hole = new ArrayList<>();
+        QuadEdge spoke = start;
+        do {
+            spokes.add(spoke);
+            hole.add(spoke.lNext());
+            spoke = spoke.oNext();
+        } while (spoke != start);
+        for (QuadEdge edge : spokes) {
+            subdivision.delete(edge);
+        }
+
+        List<QuadEdge> added = new ArrayList<>();
+        while (hole.size() > 3) {
+            int ear = findEar(hole);
+            int next = (ear + 1) % hole.size();
+            // The new edge runs from the far end of the ear back to its start, the ear on its left.
+            QuadEdge diagonal = subdivision.connect(hole.get(next), hole.get(ear));
+            added.add(diagonal);
+            hole.set(ear, diagonal.sym());
+            hole.remove(next);
+        }
+        return added;
+    }
+
+
+    // An ear of the hole that is a Delaunay triangle, its circumcircle holds no other hole vertex.
+    private int findEar(List<QuadEdge> hole) {
+        int k = hole.size();
+        for (int i = 0; i < k; i++) {
+            Coordinate p = hole.get(i).orig().getCoordinate();
+            Coordinate q = hole.get(i).dest().getCoordinate();
+            Coordinate r = hole.get((i + 1) % k).dest().getCoordinate();
+            if (Orientation.index(p, q, r) != Orientation.COUNTERCLOCKWISE) {
+                continue;
+            }
+            boolean empty = true;
+            for (int j = 3; j < k && empty; j++) {
+                Coordinate s = hole.get((i + j) % k).orig().getCoordinate();
+                empty = !TrianglePredicate.isInCircleRobust(p, q, r, s);
+            }
+            if (empty) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("The hole of a removed vertex has no Delaunay ear!");
+    }
+
+
+    // Builds the subdivision of all vertices of the graph and gives the graph its edges.
+    private void rebuild() {
+        sites.clear();
+        shadowed.clear();
+        knownVertices = graph.numberOfVertices();
+        List<Coordinate> coordinates = new ArrayList<>();
+        Envelope envelope = new Envelope();
+        for (Vertex<T> v : graph.getAllVertices()) {
+            Coordinate coordinate = new Coordinate(v.getX(), v.getY());
+            // The last vertex at a coordinate gets the edges, as in Delaunay.triangulate.
+            Vertex<T> previous = sites.put(coordinate, v);
+            if (previous == null) {
+                coordinates.add(coordinate);
+                envelope.expandToInclude(coordinate);
+            } else {
+                shadowed.computeIfAbsent(coordinate, key -> new ArrayList<>()).add(previous);
+            }
+        }
+        // Sorted sites are located faster, each is close to the one before.
+        Collections.sort(coordinates);
+        List<org.locationtech.jts.triangulate.quadedge.Vertex> siteVertices = new ArrayList<>(coordinates.size());
+        for (Coordinate coordinate : coordinates) {
+            siteVertices.add(new org.locationtech.jts.triangulate.quadedge.Vertex(coordinate));
+        }
+        if (envelope.isNull()) {
+            envelope.expandToInclude(0, 0);
+        }
+        // The frame around the subdivision grows with the envelope. It is built from the envelope
+        // of the sites, as in Delaunay.triangulate, so both keep the same edges along the convex hull.
+        bounds = new Envelope(envelope);
+        if (bounds.getWidth() == 0 && bounds.getHeight() == 0) {
+            bounds.expandBy(1.0);
+        }
+        subdivision = new QuadEdgeSubdivision(bounds, 0.0);
+        triangulator = new IncrementalDelaunayTriangulator(subdivision);
+        triangulator.insertSites(siteVertices);
+        matchEdges();
+    }
+
+
+    // Adds the subdivision edges the graph is missing and removes the graph edges it does not have.
+    private void matchEdges() {
+        Map<T, Set<T>> delaunayEdges = new HashMap<>();
+        @SuppressWarnings("unchecked")
+        List<QuadEdge> primaryEdges = subdivision.getPrimaryEdges(false);
+        for (QuadEdge edge : primaryEdges) {
+            Vertex<T> a = sites.get(edge.orig().getCoordinate());
+            Vertex<T> b = sites.get(edge.dest().getCoordinate());
+            if (a != null && b != null) {
+                delaunayEdges.computeIfAbsent(a.getInfo(), key -> new HashSet<>()).add(b.getInfo());
+                delaunayEdges.computeIfAbsent(b.getInfo(), key -> new HashSet<>()).add(a.getInfo());
+            }
+        }
+
+        List<T> staleFrom = new ArrayList<>();
+        List<T> staleTo = new ArrayList<>();
+        List<T> missingFrom = new ArrayList<>();
+        List<T> missingTo = new ArrayList<>();
+        Set<T> done = new HashSet<>();
+        for (Vertex<T> v : graph.getAllVertices()) {
+            T a = v.getInfo();
+            done.add(a);
+            Set<T> wanted = delaunayEdges.getOrDefault(a, Set.of());
+            Set<T> present = new HashSet<>();
+            for (Edge<T> edge : graph.getEdges(a)) {
+                T b = edge.getTo().getInfo();
+                if (present.add(b) && !done.contains(b) && !wanted.contains(b)) {
+                    staleFrom.add(a);
+                    staleTo.add(b);
+                }
+            }
+            for (T b : wanted) {
+                if (!done.contains(b) && !present.contains(b)) {
+                    missingFrom.add(a);
+                    missingTo.add(b);
+                }
+            }
+        }
+        for (int i = 0; i < missingFrom.size(); i++) {
+            graph.addEdge(missingFrom.get(i), missingTo.get(i));
+        }
+        for (int i = 0; i < staleFrom.size(); i++) {
+            graph.removeEdge(staleFrom.get(i), staleTo.get(i));
+        }
+    }
+}
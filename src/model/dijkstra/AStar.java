@@ -0,0 +1,88 @@
+package model.dijkstra;
+
+import model.graph.CsrGraph;
+import model.graph.Graph;
+import model.graph.Vertex;
+import model.prioQ.DoubleMinHeap;
+
+
+/**
+ * An A* variant of {@link Dijkstra} for path finding on a {@link CsrGraph} snapshot.
+ * The queue is ordered on the path weight so far plus a lower bound of the remaining
+ * weight, the straight line SWEREF99TM distance to the end vertex multiplied by the
+ * lowest weight per distance unit in the graph ({@link CsrGraph#getMinWeightPerDistance()}).
+ * The bound never overestimates and is consistent, so the path is the same as the one
+ * Dijkstra finds while the search is pulled towards the end vertex.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class AStar<T> {
+    private int settledCount;
+
+    /**
+     * Calculates the path with the lowest weight given a start and end vertex.
+     *
+     * @param graph       the snapshot for the algorithm to traverse.
+     * @param startVertex the vertex where the algorithm starts.
+     * @param endVertex   the vertex which the algorithm should reach.
+     * @return a graph object which consists of the vertices and edges of the calculated path.
+     */
+    public Graph<T> getLowWeightPathGraph(CsrGraph<T> graph, Vertex<T> startVertex, Vertex<T> endVertex) {
+        return getLowWeightPath(graph, startVertex, endVertex).toGraph();
+    }
+
+
+    /**
+     * Calculates the path with the lowest weight given a start and end vertex.
+     *
+     * @param graph       the snapshot for the algorithm to traverse.
+     * @param startVertex the vertex where the algorithm starts.
+     * @param endVertex   the vertex which the algorithm should reach.
+     * @return the vertices, hop weights and total weight of the path, empty if the end vertex is not reached.
+     */
+    public PathResult<T> getLowWeightPath(CsrGraph<T> graph, Vertex<T> startVertex, Vertex<T> endVertex) {
+        int start = graph.getId(startVertex.getInfo());
+        int end = graph.getId(endVertex.getInfo());
+
+        if (start == -1 || end == -1) {
+            return PathResult.empty();
+        }
+
+        double factor = graph.getMinWeightPerDistance();
+        SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.numberOfVertices());
+        DoubleMinHeap queue = workspace.getQueue();
+        queue.insert(start, factor * graph.distance(start, end));
+        workspace.set(start, 0.0, -1);
+        settledCount = 0;
+
+        while (!queue.isEmpty()) {
+            int current = queue.extractMin();
+            settledCount++;
+            if (current == end) {
+                break;
+            }
+
+            double currentWeight = workspace.getWeight(current);
+            for (int e = graph.edgeStart(current); e < graph.edgeEnd(current); e++) {
+                int next = graph.target(e);
+                double nextWeight = currentWeight + graph.weight(e);
+                if (nextWeight < workspace.getWeight(next)) {
+                    workspace.set(next, nextWeight, current);
+                    queue.insertOrDecrease(next, nextWeight + factor * graph.distance(next, end));
+                }
+            }
+        }
+
+        return Dijkstra.buildPath(graph, workspace, end);
+    }
+
+
+    /**
+     * The number of vertices dequeued by the last search, used to compare against Dijkstra.
+     *
+     * @return the number of settled vertices.
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+}
@@ -0,0 +1,138 @@
+package model.dijkstra;
+
+import model.graph.CsrGraph;
+import model.graph.Graph;
+import model.graph.Vertex;
+import model.prioQ.DoubleMinHeap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * A bidirectional variant of {@link Dijkstra} for point to point path finding on a
+ * {@link CsrGraph} snapshot. A forward search from the start vertex and a backward search
+ * from the end vertex, over {@link CsrGraph#reverse()}, take turns expanding the frontier
+ * with the lowest key. The best meeting point seen is kept, and the search stops when the
+ * two lowest keys together are at least the weight of that path, after which no shorter
+ * path can exist. Each search then only covers about half the distance.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class BidirectionalDijkstra<T> {
+    private int settledCount;
+
+    /**
+     * Calculates the path with the lowest weight given a start and end vertex.
+     *
+     * @param graph       the snapshot for the algorithm to traverse.
+     * @param startVertex the vertex where the algorithm starts.
+     * @param endVertex   the vertex which the algorithm should reach.
+     * @return a graph object which consists of the vertices and edges of the calculated path.
+     */
+    public Graph<T> getLowWeightPathGraph(CsrGraph<T> graph, Vertex<T> startVertex, Vertex<T> endVertex) {
+        return getLowWeightPath(graph, startVertex, endVertex).toGraph();
+    }
+
+
+    /**
+     * Calculates the path with the lowest weight given a start and end vertex.
+     *
+     * @param graph       the snapshot for the algorithm to traverse.
+     * @param startVertex the vertex where the algorithm starts.
+     * @param endVertex   the vertex which the algorithm should reach.
+     * @return the vertices, hop weights and total weight of the path, empty if the end vertex is not reached.
+     */
+    public PathResult<T> getLowWeightPath(CsrGraph<T> graph, Vertex<T> startVertex, Vertex<T> endVertex) {
+        int start = graph.getId(startVertex.getInfo());
+        int end = graph.getId(endVertex.getInfo());
+
+        if (start == -1 || end == -1) {
+            return PathResult.empty();
+        }
+
+        int n = graph.numberOfVertices();
+        CsrGraph<T> reverse = graph.reverse();
+        SearchWorkspace forwardSearch = SearchWorkspace.forThread(SearchWorkspace.FORWARD, n);
+        SearchWorkspace backwardSearch = SearchWorkspace.forThread(SearchWorkspace.BACKWARD, n);
+        DoubleMinHeap forwardQueue = forwardSearch.getQueue();
+        DoubleMinHeap backwardQueue = backwardSearch.getQueue();
+        forwardSearch.set(start, 0.0, -1);
+        backwardSearch.set(end, 0.0, -1);
+        forwardQueue.insert(start, 0.0);
+        backwardQueue.insert(end, 0.0);
+
+        double bestWeight = start == end ? 0.0 : Double.POSITIVE_INFINITY;
+        int meeting = start == end ? start : -1;
+        settledCount = 0;
+
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            if (forwardQueue.peekKey() + backwardQueue.peekKey() >= bestWeight) {
+                break;
+            }
+
+            boolean forward = forwardQueue.peekKey() <= backwardQueue.peekKey();
+            CsrGraph<T> side = forward ? graph : reverse;
+            SearchWorkspace search = forward ? forwardSearch : backwardSearch;
+            SearchWorkspace otherSearch = forward ? backwardSearch : forwardSearch;
+
+            int current = search.getQueue().extractMin();
+            double currentWeight = search.getWeight(current);
+            settledCount++;
+
+            for (int e = side.edgeStart(current); e < side.edgeEnd(current); e++) {
+                int next = side.target(e);
+                double nextWeight = currentWeight + side.weight(e);
+                if (nextWeight < search.getWeight(next)) {
+                    search.set(next, nextWeight, current);
+                    search.getQueue().insertOrDecrease(next, nextWeight);
+                }
+                if (nextWeight + otherSearch.getWeight(next) < bestWeight) {
+                    bestWeight = nextWeight + otherSearch.getWeight(next);
+                    meeting = next;
+                }
+            }
+        }
+
+        if (meeting == -1) {
+            return PathResult.empty();
+        }
+        return buildPath(graph, forwardSearch, backwardSearch, meeting, bestWeight);
+    }
+
+
+    /**
+     * The number of vertices dequeued by both searches together in the last call.
+     *
+     * @return the number of settled vertices.
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+
+    // Joins the forward half, start to meeting, with the backward half, meeting to end.
+    private PathResult<T> buildPath(CsrGraph<T> graph, SearchWorkspace forwardSearch,
+                                    SearchWorkspace backwardSearch, int meeting, double totalWeight) {
+        List<Vertex<T>> vertices = new ArrayList<>();
+        List<Double> hopWeights = new ArrayList<>();
+
+        for (int current = meeting; current != -1; current = forwardSearch.getPrevious(current)) {
+            int previous = forwardSearch.getPrevious(current);
+            vertices.add(graph.getVertex(current));
+            if (previous != -1) {
+                hopWeights.add(forwardSearch.getWeight(current) - forwardSearch.getWeight(previous));
+            }
+        }
+        Collections.reverse(vertices);
+        Collections.reverse(hopWeights);
+
+        for (int current = meeting; backwardSearch.getPrevious(current) != -1; current = backwardSearch.getPrevious(current)) {
+            int next = backwardSearch.getPrevious(current);
+            vertices.add(graph.getVertex(next));
+            hopWeights.add(backwardSearch.getWeight(current) - backwardSearch.getWeight(next));
+        }
+        return new PathResult<>(vertices, hopWeights.stream().mapToDouble(Double::doubleValue).toArray(), totalWeight);
+    }
+}
@@ -0,0 +1,257 @@
+package model.dijkstra;
+
+import model.graph.CsrGraph;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+
+/**
+ * Delta-stepping single source path weights on a {@link CsrGraph} snapshot, a parallel
+ * alternative to {@link Dijkstra#getLowestWeights(CsrGraph, int)} for whole network
+ * recomputations.
+ * <p>
+ * Vertices are kept in buckets of width delta by their tentative path weight. The lowest
+ * bucket is emptied by relaxing the light edges, those not heavier than delta, of all its
+ * vertices in parallel, over and over until no vertex falls back into it. The heavy edges of
+ * the emptied bucket are then relaxed once, also in parallel. The path weights are lowered
+ * with compare-and-set, so the result does not depend on the order the threads run in and is
+ * the same as the one Dijkstra gives.
+ * <p>
+ * A small delta does little extra work but gives many small buckets with little parallelism,
+ * a large delta gives few buckets where vertices are relaxed many times. Unless a delta is
+ * given, it is tuned from a sample of the edge weights, see {@link #tuneDelta(CsrGraph)}.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class DeltaStepping<T> {
+    // Frontiers smaller than this are relaxed on the calling thread.
+    private static final int PARALLEL_THRESHOLD = 512;
+    private static final int CHUNK_SIZE = 256;
+    private static final int WEIGHT_SAMPLE = 10_000;
+
+    private final int parallelism;
+    private final double fixedDelta;
+    private double delta;
+
+    /**
+     * Creates a search with a tuned delta on all available processors.
+     */
+    public DeltaStepping() {
+        this(Runtime.getRuntime().availableProcessors(), 0.0);
+    }
+
+
+    /**
+     * Creates a search.
+     *
+     * @param parallelism the number of worker threads.
+     * @param delta       the bucket width, or 0 to tune it from the edge weights.
+     */
+    public DeltaStepping(int parallelism, double delta) {
+        if (parallelism <= 0 || delta < 0) {
+            throw new IllegalArgumentException("Parallelism must be positive and delta not negative!");
+        }
+        this.parallelism = parallelism;
+        this.fixedDelta = delta;
+    }
+
+
+    /**
+     * Calculates the lowest path weight from the start vertex to every vertex.
+     *
+     * @param graph the snapshot for the algorithm to traverse.
+     * @param start the dense id of the start vertex.
+     * @return the path weights indexed by dense id, positive infinity for unreachable vertices.
+     */
+    public double[] getLowestWeights(CsrGraph<T> graph, int start) {
+        int n = graph.numberOfVertices();
+        delta = fixedDelta > 0 ? fixedDelta : tuneDelta(graph);
+
+        AtomicLongArray weights = new AtomicLongArray(n);
+        long infinity = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+        for (int v = 0; v < n; v++) {
+            weights.set(v, infinity);
+        }
+        weights.set(start, Double.doubleToRawLongBits(0.0));
+
+        // Stops a vertex from being relaxed twice in one phase or settled twice while emptying one bucket.
+        int[] lastPhase = new int[n];
+        int[] lastRound = new int[n];
+        int phase = 0;
+        int round = 0;
+
+        TreeMap<Long, IntList> buckets = new TreeMap<>();
+        buckets.computeIfAbsent(0L, b -> new IntList()).add(start);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            while (!buckets.isEmpty()) {
+                long bucket = buckets.firstKey();
+                IntList settled = new IntList();
+                round++;
+
+                while (buckets.containsKey(bucket)) {
+                    IntList taken = buckets.remove(bucket);
+                    phase++;
+                    IntList frontier = new IntList();
+                    for (int i = 0; i < taken.size; i++) {
+                        int v = taken.values[i];
+                        // Stale entries, the vertex has moved to a lower bucket, were already handled.
+                        if (lastPhase[v] != phase && bucketOf(get(weights, v)) == bucket) {
+                            lastPhase[v] = phase;
+                            frontier.add(v);
+                            if (lastRound[v] != round) {
+                                lastRound[v] = round;
+                                settled.add(v);
+                            }
+                        }
+                    }
+                    addAll(buckets, weights, relax(graph, weights, frontier, true, pool));
+                }
+
+                addAll(buckets, weights, relax(graph, weights, settled, false, pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        double[] lowestWeights = new double[n];
+        for (int v = 0; v < n; v++) {
+            lowestWeights[v] = get(weights, v);
+        }
+        return lowestWeights;
+    }
+
+
+    /**
+     * The bucket width used by the last search.
+     *
+     * @return the delta.
+     */
+    public double getDelta() {
+        return delta;
+    }
+
+
+    /**
+     * Picks the bucket width from an even sample of the edge weights, the median edge weight
+     * times the average number of edges per vertex. This follows the delta of about the
+     * largest weight over the degree suggested by Meyer and Sanders, with the median in place
+     * of the largest weight since the weights from the bandwidth ratios are heavily skewed.
+     *
+     * @param graph the snapshot to tune for.
+     * @return a positive bucket width.
+     */
+    public static <T> double tuneDelta(CsrGraph<T> graph) {
+        int arcs = graph.numberOfArcs();
+        int step = Math.max(1, arcs / WEIGHT_SAMPLE);
+        double[] sample = new double[(arcs + step - 1) / step];
+        int count = 0;
+        for (int e = 0; e < arcs; e += step) {
+            double weight = graph.weight(e);
+            if (weight > 0 && weight != Double.MAX_VALUE) {
+                sample[count++] = weight;
+            }
+        }
+        if (count == 0) {
+            return 1.0;
+        }
+        Arrays.sort(sample, 0, count);
+        double averageDegree = Math.max(1.0, (double) arcs / Math.max(1, graph.numberOfVertices()));
+        return sample[(count - 1) / 2] * averageDegree;
+    }
+
+
+    // Relaxes the light or the heavy edges of the vertices, returns the vertices whose weight was lowered.
+    private IntList relax(CsrGraph<T> graph, AtomicLongArray weights, IntList vertices, boolean light, ForkJoinPool pool) {
+        if (vertices.size < PARALLEL_THRESHOLD || parallelism == 1) {
+            return relaxRange(graph, weights, vertices, 0, vertices.size, light);
+        }
+
+        int chunks = (vertices.size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<IntList> lowered = pool.submit(() -> IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> relaxRange(graph, weights, vertices, c * CHUNK_SIZE,
+                        Math.min(vertices.size, (c + 1) * CHUNK_SIZE), light))
+                .toList()).join();
+
+        IntList all = new IntList();
+        for (IntList list : lowered) {
+            all.addAll(list);
+        }
+        return all;
+    }
+
+
+    private IntList relaxRange(CsrGraph<T> graph, AtomicLongArray weights, IntList vertices,
+                               int first, int last, boolean light) {
+        IntList lowered = new IntList();
+        for (int i = first; i < last; i++) {
+            int current = vertices.values[i];
+            double currentWeight = get(weights, current);
+            for (int e = graph.edgeStart(current); e < graph.edgeEnd(current); e++) {
+                double weight = graph.weight(e);
+                if ((weight <= delta) == light && lower(weights, graph.target(e), currentWeight + weight)) {
+                    lowered.add(graph.target(e));
+                }
+            }
+        }
+        return lowered;
+    }
+
+
+    private void addAll(TreeMap<Long, IntList> buckets, AtomicLongArray weights, IntList vertices) {
+        for (int i = 0; i < vertices.size; i++) {
+            int v = vertices.values[i];
+            buckets.computeIfAbsent(bucketOf(get(weights, v)), b -> new IntList()).add(v);
+        }
+    }
+
+
+    private long bucketOf(double weight) {
+        return (long) (weight / delta);
+    }
+
+
+    private static double get(AtomicLongArray weights, int v) {
+        return Double.longBitsToDouble(weights.get(v));
+    }
+
+
+    // Atomic minimum, the bits of non negative doubles sort the same way as the values.
+    private static boolean lower(AtomicLongArray weights, int v, double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        long current = weights.get(v);
+        while (bits < current) {
+            if (weights.compareAndSet(v, current, bits)) {
+                return true;
+            }
+            current = weights.get(v);
+        }
+        return false;
+    }
+
+
+    // A growable list of primitive ints.
+    private static class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(IntList other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+    }
+}
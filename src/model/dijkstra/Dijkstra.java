@@ -1,26 +1,36 @@
 package model.dijkstra;
 
+import model.graph.CsrGraph;
 import model.graph.Edge;
 import model.graph.Graph;
 import model.graph.Vertex;
-import model.prioQ.PriorityQueue;
+import model.prioQ.DoubleMinHeap;
+import model.prioQ.IndexedMinHeap;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 
 /**
  * A Dijkstra implementation for path finding within a graph structure.
  * Calculates the most efficient path between two vertices.
- * Utilizes a custom priority queue which is configured with a minimum-heap.
+ * Utilizes an indexed minimum-heap, a vertex whose weight improves is moved up in place
+ * with decrease-key so every vertex is queued and dequeued at most once.
  * Uses a forward phase for tracking and a back tracking phase to create a graph object.
+ * The searches on a {@link CsrGraph} keep their state in a per thread {@link SearchWorkspace},
+ * so a short query does not pay for clearing arrays the size of the whole graph.
  *
  * @param <T> the vertices unique identifier. The generic class of type T.
  */
 public class Dijkstra<T> {
-    PriorityQueue<Vertex<T>, Double> prioQ;
+    IndexedMinHeap<Vertex<T>, Double> prioQ;
     private Map<T, Double> lowestWeightsMap;
     private Map<T, Vertex<T>> previousNodesMap;
+    private int settledCount;
 
     /**
      * Calculates the path with the lowest weight given a start and end vertex in an existing graph object.
@@ -31,21 +41,38 @@ public class Dijkstra<T> {
      * @return a graph object which consists of the vertices and edges of the calculated path.
      */
     public Graph<T> getLowWeightPathGraph(Graph<T> graph, Vertex<T> startVertex, Vertex<T> endVertex) {
+        PathResult<T> path = getLowWeightPath(graph, startVertex, endVertex);
+        if (path.numberOfHops() == 0) {
+            System.out.println("End vertex is unreachable or does not exist.");
+            return graph;
+        }
+        return path.toGraph();
+    }
+
+
+    /**
+     * Calculates the path with the lowest weight given a start and end vertex in an existing graph object.
+     *
+     * @param graph       the graph object for the algorithm to traverse.
+     * @param startVertex the vertex where the algorithm starts.
+     * @param endVertex   the vertex which the algorithm should reach.
+     * @return the vertices, hop weights and total weight of the path, empty if the end vertex is not reached.
+     */
+    public PathResult<T> getLowWeightPath(Graph<T> graph, Vertex<T> startVertex, Vertex<T> endVertex) {
         // Try catch? graph != null && startVertex != null && endVertex != null
         lowestWeightsMap = new HashMap<>();
         previousNodesMap = new HashMap<>();
-        prioQ = new PriorityQueue<>(graph.getAllVertices().size());
+        prioQ = new IndexedMinHeap<>();
 
         prioQ.enqueue(startVertex, 0.0);
 
-        for (Vertex<T> vtx : graph.getAllVertices()) {
-            lowestWeightsMap.put(vtx.getInfo(), Double.POSITIVE_INFINITY);
-        }
-
+        // Vertices missing from the map have not been reached, so only touched vertices cost anything.
         lowestWeightsMap.put(startVertex.getInfo(), 0.0);
+        settledCount = 0;
 
         while (!prioQ.isEmpty()) {
             Vertex<T> currentVertex = prioQ.dequeue();
+            settledCount++;
             if (currentVertex.getInfo().equals(endVertex.getInfo())) {
                 break;
             }
@@ -54,49 +81,291 @@ public class Dijkstra<T> {
                 //System.out.println("From " + edge.getFrom().getInfo() + " to " + edge.getTo().getInfo() + "| Weight: " + edge.getWeight());
                 Vertex<T> nextVertex = edge.getTo();
                 double currentWeight = lowestWeightsMap.get(currentVertex.getInfo()) + edge.getWeight();
-                if (currentWeight < lowestWeightsMap.get(nextVertex.getInfo())) {
+                if (currentWeight < lowestWeightsMap.getOrDefault(nextVertex.getInfo(), Double.POSITIVE_INFINITY)) {
                     lowestWeightsMap.put(nextVertex.getInfo(), currentWeight);
                     previousNodesMap.put(nextVertex.getInfo(), currentVertex);
-                    prioQ.enqueue(nextVertex, currentWeight);
+                    if (prioQ.contains(nextVertex)) {
+                        prioQ.decreaseKey(nextVertex, currentWeight);
+                    } else {
+                        prioQ.enqueue(nextVertex, currentWeight);
+                    }
                 }
             }
         }
 
+        if (!lowestWeightsMap.containsKey(endVertex.getInfo())) {
+            return PathResult.empty();
+        }
 
-        Graph<T> pathGraph = new Graph<>();
-        Vertex<T> currentVertex = endVertex;
+        // Back tracking, the hop weights are the differences of the path weights.
+        List<Vertex<T>> vertices = new ArrayList<>();
+        for (Vertex<T> current = endVertex; current != null; current = previousNodesMap.get(current.getInfo())) {
+            vertices.add(current);
+        }
+        Collections.reverse(vertices);
 
-        if (!previousNodesMap.containsKey(currentVertex.getInfo())) {
-            System.out.println("End vertex is unreachable or does not exist.");
-            return graph;
+        double[] hopWeights = new double[vertices.size() - 1];
+        for (int i = 1; i < vertices.size(); i++) {
+            hopWeights[i - 1] = lowestWeightsMap.get(vertices.get(i).getInfo())
+                    - lowestWeightsMap.get(vertices.get(i - 1).getInfo());
+        }
+        return new PathResult<>(vertices, hopWeights, lowestWeightsMap.get(endVertex.getInfo()));
+    }
+
+
+    /**
+     * Calculates the path with the lowest weight on a {@link CsrGraph} snapshot.
+     *
+     * @param graph       the snapshot for the algorithm to traverse.
+     * @param startVertex the vertex where the algorithm starts.
+     * @param endVertex   the vertex which the algorithm should reach.
+     * @return a graph object which consists of the vertices and edges of the calculated path.
+     */
+    public Graph<T> getLowWeightPathGraph(CsrGraph<T> graph, Vertex<T> startVertex, Vertex<T> endVertex) {
+        return getLowWeightPath(graph, startVertex, endVertex).toGraph();
+    }
+
+
+    /**
+     * Calculates the path with the lowest weight on a {@link CsrGraph} snapshot.
+     * Distances and predecessors are kept in arrays indexed by the dense vertex ids and
+     * the queue is a primitive {@link DoubleMinHeap}, so no hash lookups or boxing are
+     * done while relaxing edges.
+     *
+     * @param graph       the snapshot for the algorithm to traverse.
+     * @param startVertex the vertex where the algorithm starts.
+     * @param endVertex   the vertex which the algorithm should reach.
+     * @return the vertices, hop weights and total weight of the path, empty if the end vertex is not reached.
+     */
+    public PathResult<T> getLowWeightPath(CsrGraph<T> graph, Vertex<T> startVertex, Vertex<T> endVertex) {
+        int start = graph.getId(startVertex.getInfo());
+        int end = graph.getId(endVertex.getInfo());
+
+        if (start == -1 || end == -1) {
+            return PathResult.empty();
         }
 
-        while (previousNodesMap.containsKey(currentVertex.getInfo())) {
-            Vertex<T> previous = previousNodesMap.get(currentVertex.getInfo());
+        SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.numberOfVertices());
+        search(graph, start, end, workspace);
+        return buildPath(graph, workspace, end);
+    }
+
 
-            if (previous == null) {
+    /**
+     * Runs one search from the source vertex and keeps the shortest path tree, so the paths
+     * to many targets are read from the same search instead of one search per target.
+     * The search stops as soon as every target is settled, without targets it covers every
+     * reachable vertex.
+     *
+     * @param graph   the snapshot for the algorithm to traverse.
+     * @param source  the vertex where the algorithm starts.
+     * @param targets the vertices the tree must contain, null or empty for the whole tree.
+     * @return the shortest path tree from the source.
+     */
+    public ShortestPathTree<T> getShortestPathTree(CsrGraph<T> graph, Vertex<T> source, Iterable<Vertex<T>> targets) {
+        int start = graph.getId(source.getInfo());
+        if (start == -1) {
+            throw new IllegalArgumentException("Source vertex does not exist in the graph: " + source.getInfo());
+        }
+
+        // The tree keeps its own workspace since it outlives this call.
+        SearchWorkspace workspace = new SearchWorkspace(graph.numberOfVertices());
+        workspace.begin();
+
+        boolean[] isTarget = null;
+        int remaining = 0;
+        if (targets != null) {
+            isTarget = new boolean[graph.numberOfVertices()];
+            for (Vertex<T> target : targets) {
+                int id = graph.getId(target.getInfo());
+                if (id != -1 && !isTarget[id]) {
+                    isTarget[id] = true;
+                    remaining++;
+                }
+            }
+        }
+
+        DoubleMinHeap queue = workspace.getQueue();
+        queue.insert(start, 0.0);
+        workspace.set(start, 0.0, -1);
+        settledCount = 0;
+
+        while (!queue.isEmpty()) {
+            int current = queue.extractMin();
+            settledCount++;
+            if (isTarget != null && isTarget[current] && --remaining == 0) {
                 break;
             }
 
-            if (pathGraph.getVertex(previous.getInfo()) == null) {
-                pathGraph.addVertex(previous);
+            double currentWeight = workspace.getWeight(current);
+            for (int e = graph.edgeStart(current); e < graph.edgeEnd(current); e++) {
+                int next = graph.target(e);
+                double nextWeight = currentWeight + graph.weight(e);
+                if (nextWeight < workspace.getWeight(next)) {
+                    workspace.set(next, nextWeight, current);
+                    queue.insertOrDecrease(next, nextWeight);
+                }
             }
+        }
 
-            if (pathGraph.getVertex(currentVertex.getInfo()) == null) {
-                pathGraph.addVertex(currentVertex);
+        return new ShortestPathTree<>(graph, workspace, start, settledCount);
+    }
+
+
+    /**
+     * Finds every vertex reachable from the source with a path weight within the budget.
+     * The search stops as soon as the lowest weight in the queue is above the budget, so only
+     * the vertices inside the region and its border are ever touched.
+     *
+     * @param graph  the snapshot for the algorithm to traverse.
+     * @param source the vertex where the algorithm starts.
+     * @param budget the largest path weight to include.
+     * @return the reachable vertices with their path weights, in order of increasing weight.
+     */
+    public Isochrone<T> getReachableWithin(CsrGraph<T> graph, Vertex<T> source, double budget) {
+        int start = graph.getId(source.getInfo());
+        if (start == -1) {
+            throw new IllegalArgumentException("Source vertex does not exist in the graph: " + source.getInfo());
+        }
+        if (budget < 0 || Double.isNaN(budget)) {
+            throw new IllegalArgumentException("Budget must not be negative: " + budget);
+        }
+
+        SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.numberOfVertices());
+        DoubleMinHeap queue = workspace.getQueue();
+        queue.insert(start, 0.0);
+        workspace.set(start, 0.0, -1);
+        settledCount = 0;
+
+        List<Vertex<T>> reachable = new ArrayList<>();
+        double[] weights = new double[16];
+        while (!queue.isEmpty() && queue.peekKey() <= budget) {
+            int current = queue.extractMin();
+            double currentWeight = workspace.getWeight(current);
+            if (settledCount == weights.length) {
+                weights = Arrays.copyOf(weights, settledCount * 2);
             }
+            weights[settledCount++] = currentWeight;
+            reachable.add(graph.getVertex(current));
 
-            // Extract edge paths from vertexGraph object.
-            double weight = 0.0;
-            for (Edge<T> edge : graph.getEdges(previous.getInfo())) {
-                if (edge.getTo().getInfo().equals(currentVertex.getInfo())) {
-                    weight = edge.getWeight();
-                    break;
+            for (int e = graph.edgeStart(current); e < graph.edgeEnd(current); e++) {
+                int next = graph.target(e);
+                double nextWeight = currentWeight + graph.weight(e);
+                // Vertices beyond the budget never need to enter the queue.
+                if (nextWeight <= budget && nextWeight < workspace.getWeight(next)) {
+                    workspace.set(next, nextWeight, current);
+                    queue.insertOrDecrease(next, nextWeight);
                 }
             }
-            pathGraph.addEdge(previous, currentVertex, weight);
-            currentVertex = previous;
         }
-        return pathGraph;
+
+        return new Isochrone<>(source, budget, reachable, Arrays.copyOf(weights, settledCount));
+    }
+
+
+    /**
+     * The number of vertices dequeued by the last search, used to compare search strategies.
+     *
+     * @return the number of settled vertices.
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+
+    /**
+     * Runs the search from the start vertex without an end vertex and returns the lowest
+     * path weight to every vertex in the snapshot.
+     *
+     * @param graph the snapshot for the algorithm to traverse.
+     * @param start the dense id of the start vertex.
+     * @return the path weights indexed by dense id, positive infinity for unreachable vertices.
+     */
+    public double[] getLowestWeights(CsrGraph<T> graph, int start) {
+        double[] lowestWeights = new double[graph.numberOfVertices()];
+        getLowestWeights(graph, start, lowestWeights);
+        return lowestWeights;
+    }
+
+
+    /**
+     * Runs the search from the start vertex without an end vertex and writes the lowest
+     * path weight to every vertex into an existing array, so a caller running many
+     * searches can reuse it.
+     *
+     * @param graph         the snapshot for the algorithm to traverse.
+     * @param start         the dense id of the start vertex.
+     * @param lowestWeights the array to fill, indexed by dense id, at least as long as the number of vertices.
+     */
+    public void getLowestWeights(CsrGraph<T> graph, int start, double[] lowestWeights) {
+        SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.numberOfVertices());
+        search(graph, start, -1, workspace);
+        for (int v = 0; v < graph.numberOfVertices(); v++) {
+            lowestWeights[v] = workspace.getWeight(v);
+        }
+    }
+
+
+    // The search on the snapshot, stops when the end vertex is settled or runs to the end when it is -1.
+    private void search(CsrGraph<T> graph, int start, int end, SearchWorkspace workspace) {
+        DoubleMinHeap queue = workspace.getQueue();
+        queue.insert(start, 0.0);
+        workspace.set(start, 0.0, -1);
+        settledCount = 0;
+
+        while (!queue.isEmpty()) {
+            int current = queue.extractMin();
+            settledCount++;
+            if (current == end) {
+                break;
+            }
+
+            double currentWeight = workspace.getWeight(current);
+            for (int e = graph.edgeStart(current); e < graph.edgeEnd(current); e++) {
+                int next = graph.target(e);
+                double nextWeight = currentWeight + graph.weight(e);
+                if (nextWeight < workspace.getWeight(next)) {
+                    workspace.set(next, nextWeight, current);
+                    queue.insertOrDecrease(next, nextWeight);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Back tracks the predecessors in the workspace from the end vertex. The hop weights are
+     * the differences of the path weights, so no adjacency list is scanned.
+     *
+     * @param graph     the snapshot that was searched.
+     * @param workspace the workspace of the search.
+     * @param end       the dense id of the end vertex.
+     * @return the path from the start of the search to the end vertex, empty if it was not reached.
+     */
+    public static <T> PathResult<T> buildPath(CsrGraph<T> graph, SearchWorkspace workspace, int end) {
+        if (!workspace.isReached(end)) {
+            return PathResult.empty();
+        }
+
+        int hops = 0;
+        for (int current = end; workspace.getPrevious(current) != -1; current = workspace.getPrevious(current)) {
+            hops++;
+        }
+
+        int[] ids = new int[hops + 1];
+        ids[hops] = end;
+        for (int i = hops; i > 0; i--) {
+            ids[i - 1] = workspace.getPrevious(ids[i]);
+        }
+
+        List<Vertex<T>> vertices = new ArrayList<>(hops + 1);
+        double[] hopWeights = new double[hops];
+        for (int i = 0; i <= hops; i++) {
+            vertices.add(graph.getVertex(ids[i]));
+            if (i > 0) {
+                hopWeights[i - 1] = workspace.getWeight(ids[i]) - workspace.getWeight(ids[i - 1]);
+            }
+        }
+        return new PathResult<>(vertices, hopWeights, workspace.getWeight(end));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,239 @@
+package model.dijkstra;
+
+import model.graph.CsrGraph;
+import model.graph.Vertex;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * The lowest path weight between every pair of vertices in a {@link CsrGraph} snapshot.
+ * One single source {@link Dijkstra} search is run per vertex, spread over the workers of a
+ * {@link ForkJoinPool}. Each worker thread keeps its own {@link SearchWorkspace} between
+ * searches, and every search writes only its own row, so the workers share nothing while
+ * they run.
+ * <p>
+ * The matrix is stored row by row, the weight from a to b is at index a * n + b. It is kept
+ * in a double[] on the heap, or in a memory mapped file for graphs where n * n doubles do
+ * not fit in memory.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class DistanceMatrix<T> {
+    // Rows searched by one task before it stops splitting.
+    private static final int ROWS_PER_TASK = 16;
+
+    private final CsrGraph<T> graph;
+    private final int n;
+    private final double[] weights;
+    private final MappedByteBuffer[] chunks;
+    private final int rowsPerChunk;
+
+
+    private DistanceMatrix(CsrGraph<T> graph, double[] weights, MappedByteBuffer[] chunks, int rowsPerChunk) {
+        this.graph = graph;
+        this.n = graph.numberOfVertices();
+        this.weights = weights;
+        this.chunks = chunks;
+        this.rowsPerChunk = rowsPerChunk;
+    }
+
+
+    /**
+     * Computes the matrix on the heap using all available processors, or in a temporary file
+     * if it is too large for an array.
+     *
+     * @param graph the snapshot to compute the matrix for.
+     * @return the distance matrix.
+     */
+    public static <T> DistanceMatrix<T> compute(CsrGraph<T> graph) {
+        return compute(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * Computes the matrix on the heap. A matrix with more entries than an array can hold is
+     * computed into a temporary memory mapped file instead, deleted when the program exits.
+     *
+     * @param graph       the snapshot to compute the matrix for.
+     * @param parallelism the number of worker threads.
+     * @return the distance matrix.
+     * @throws UncheckedIOException if the temporary file cannot be created or mapped.
+     */
+    public static <T> DistanceMatrix<T> compute(CsrGraph<T> graph, int parallelism) {
+        long size = (long) graph.numberOfVertices() * graph.numberOfVertices();
+        if (size > Integer.MAX_VALUE - 8) {
+            try {
+                File file = File.createTempFile("distance-matrix", ".bin");
+                file.deleteOnExit();
+                return compute(graph, parallelism, file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("The matrix could not be mapped to a temporary file!", e);
+            }
+        }
+
+        DistanceMatrix<T> matrix = new DistanceMatrix<>(graph, new double[(int) size], null, 0);
+        matrix.fill(parallelism);
+        return matrix;
+    }
+
+
+    /**
+     * Computes the matrix into a memory mapped file, which lets the operating system page
+     * it to disk when it is larger than the memory.
+     *
+     * @param graph       the snapshot to compute the matrix for.
+     * @param parallelism the number of worker threads.
+     * @param file        the file to write, it is overwritten.
+     * @return the distance matrix backed by the file.
+     * @throws IOException if the file cannot be created or mapped.
+     */
+    public static <T> DistanceMatrix<T> compute(CsrGraph<T> graph, int parallelism, File file) throws IOException {
+        int n = graph.numberOfVertices();
+        long rowBytes = (long) n * Double.BYTES;
+        // A single mapping is limited to 2 GB, so the file is mapped in chunks of whole rows.
+        int rowsPerChunk = (int) Math.max(1, Math.min(n, Integer.MAX_VALUE / Math.max(rowBytes, 1)));
+        int chunkCount = n == 0 ? 0 : (n + rowsPerChunk - 1) / rowsPerChunk;
+        MappedByteBuffer[] chunks = new MappedByteBuffer[chunkCount];
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+            raf.setLength(rowBytes * n);
+            for (int c = 0; c < chunkCount; c++) {
+                long first = (long) c * rowsPerChunk;
+                long rows = Math.min(rowsPerChunk, n - first);
+                chunks[c] = channel.map(FileChannel.MapMode.READ_WRITE, first * rowBytes, rows * rowBytes);
+            }
+        }
+
+        DistanceMatrix<T> matrix = new DistanceMatrix<>(graph, null, chunks, rowsPerChunk);
+        matrix.fill(parallelism);
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+        return matrix;
+    }
+
+
+    /**
+     * The lowest path weight from one vertex to another.
+     *
+     * @param from the dense id of the start vertex.
+     * @param to   the dense id of the end vertex.
+     * @return the path weight, positive infinity if there is no path.
+     */
+    public double getWeight(int from, int to) {
+        if (weights != null) {
+            return weights[from * n + to];
+        }
+        long index = ((long) (from % rowsPerChunk) * n + to) * Double.BYTES;
+        return chunks[from / rowsPerChunk].getDouble((int) index);
+    }
+
+
+    /**
+     * The lowest path weight from one vertex to another.
+     *
+     * @param from the start vertex.
+     * @param to   the end vertex.
+     * @return the path weight, positive infinity if there is no path or a vertex is not in the snapshot.
+     */
+    public double getWeight(Vertex<T> from, Vertex<T> to) {
+        int fromId = graph.getId(from.getInfo());
+        int toId = graph.getId(to.getInfo());
+        if (fromId == -1 || toId == -1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return getWeight(fromId, toId);
+    }
+
+
+    /**
+     * Copies the weights from one vertex to every vertex.
+     *
+     * @param from the dense id of the start vertex.
+     * @return the row of the matrix, indexed by dense id.
+     */
+    public double[] getRow(int from) {
+        double[] row = new double[n];
+        if (weights != null) {
+            System.arraycopy(weights, from * n, row, 0, n);
+        } else {
+            rowView(from).asDoubleBuffer().get(row);
+        }
+        return row;
+    }
+
+
+    public CsrGraph<T> getGraph() {
+        return graph;
+    }
+
+
+    public int numberOfVertices() {
+        return n;
+    }
+
+
+    private void fill(int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            pool.invoke(new RowTask<>(this, 0, n));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+
+    // A view of one row of the mapped file, duplicated so threads do not share a position.
+    private ByteBuffer rowView(int from) {
+        ByteBuffer view = chunks[from / rowsPerChunk].duplicate();
+        view.position((from % rowsPerChunk) * n * Double.BYTES);
+        view.limit(view.position() + n * Double.BYTES);
+        return view;
+    }
+
+
+    // Splits the rows in halves until a range is small enough to search directly.
+    private static class RowTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient DistanceMatrix<T> matrix;
+        private final int first;
+        private final int last;
+
+        RowTask(DistanceMatrix<T> matrix, int first, int last) {
+            this.matrix = matrix;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first > ROWS_PER_TASK) {
+                int middle = (first + last) >>> 1;
+                invokeAll(new RowTask<>(matrix, first, middle), new RowTask<>(matrix, middle, last));
+                return;
+            }
+
+            int n = matrix.n;
+            Dijkstra<T> dijkstra = new Dijkstra<>();
+            double[] row = new double[n];
+            for (int from = first; from < last; from++) {
+                dijkstra.getLowestWeights(matrix.graph, from, row);
+                if (matrix.weights != null) {
+                    System.arraycopy(row, 0, matrix.weights, from * n, n);
+                } else {
+                    matrix.rowView(from).asDoubleBuffer().put(row);
+                }
+            }
+        }
+    }
+}
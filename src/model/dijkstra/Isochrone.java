@@ -0,0 +1,91 @@
+package model.dijkstra;
+
+import model.graph.Vertex;
+import model.quadtree.Quadtree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * The vertices reachable from a source vertex within a path weight budget, with the lowest
+ * path weight to each of them, created with
+ * {@link Dijkstra#getReachableWithin(model.graph.CsrGraph, Vertex, double)}.
+ * The vertices are in the order they were settled, so their weights never decrease.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class Isochrone<T> {
+    private final Vertex<T> source;
+    private final double budget;
+    private final List<Vertex<T>> vertices;
+    private final double[] weights;
+
+    Isochrone(Vertex<T> source, double budget, List<Vertex<T>> vertices, double[] weights) {
+        this.source = source;
+        this.budget = budget;
+        this.vertices = Collections.unmodifiableList(vertices);
+        this.weights = weights;
+    }
+
+
+    public Vertex<T> getSource() {
+        return source;
+    }
+
+
+    public double getBudget() {
+        return budget;
+    }
+
+
+    public List<Vertex<T>> getVertices() {
+        return vertices;
+    }
+
+
+    public int size() {
+        return vertices.size();
+    }
+
+
+    /**
+     * The lowest path weight from the source to the i:th reachable vertex.
+     *
+     * @param i the index in {@link #getVertices()}.
+     * @return the path weight, never above the budget.
+     */
+    public double getWeight(int i) {
+        return weights[i];
+    }
+
+
+    /**
+     * The leaf cells of a quadtree that hold at least one reachable vertex, each cell once.
+     * The list can be given to {@link view.MapGraphPanel#setContainingRectangles(List)} to
+     * mark the reachable region on the map.
+     *
+     * @param quadtree the quadtree the vertices were inserted into.
+     * @return the covered cells in the order they were first reached.
+     */
+    public List<Quadtree.Rectangle> getCells(Quadtree<T> quadtree) {
+        // Rectangles have no equals, so the set keeps one entry per leaf node.
+        Set<Quadtree.Rectangle> cells = new LinkedHashSet<>();
+        for (Vertex<T> vertex : vertices) {
+            Quadtree.Rectangle cell = quadtree.markRectangleContaining(vertex);
+            if (cell != null) {
+                cells.add(cell);
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+
+
+    @Override
+    public String toString() {
+        return "Isochrone{source=" + source.getInfo() + ", budget=" + budget + ", vertices=" + vertices.size() + "}";
+    }
+}
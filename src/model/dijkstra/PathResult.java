@@ -0,0 +1,116 @@
+package model.dijkstra;
+
+import model.graph.Graph;
+import model.graph.Vertex;
+
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * The result of a path search: the vertices from start to end, the weight of every hop
+ * and the total weight. It is read straight from the predecessors of the search, so no
+ * graph object is built and no adjacency list is scanned again to find the hop weights.
+ * {@link #toGraph()} creates the path graph the map panel draws when it is needed.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class PathResult<T> {
+    private static final PathResult<?> EMPTY = new PathResult<>(List.of(), new double[0], Double.POSITIVE_INFINITY);
+
+    private final List<Vertex<T>> vertices;
+    private final double[] hopWeights;
+    private final double totalWeight;
+
+    /**
+     * Creates a path result.
+     *
+     * @param vertices    the vertices from start to end.
+     * @param hopWeights  the weight of every hop, one less than the number of vertices.
+     * @param totalWeight the path weight from start to end.
+     */
+    public PathResult(List<Vertex<T>> vertices, double[] hopWeights, double totalWeight) {
+        if (!vertices.isEmpty() && hopWeights.length != vertices.size() - 1) {
+            throw new IllegalArgumentException("A path needs one hop weight less than vertices!");
+        }
+        this.vertices = Collections.unmodifiableList(vertices);
+        this.hopWeights = hopWeights;
+        this.totalWeight = totalWeight;
+    }
+
+
+    /**
+     * The result of a search that did not reach the end vertex.
+     *
+     * @return an empty path with infinite weight.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PathResult<T> empty() {
+        return (PathResult<T>) EMPTY;
+    }
+
+
+    public boolean isEmpty() {
+        return vertices.isEmpty();
+    }
+
+
+    public List<Vertex<T>> getVertices() {
+        return vertices;
+    }
+
+
+    public int numberOfHops() {
+        return hopWeights.length;
+    }
+
+
+    /**
+     * The weight of one hop.
+     *
+     * @param hop the index of the hop, from vertex hop to vertex hop + 1.
+     * @return the weight of the edge.
+     */
+    public double getHopWeight(int hop) {
+        return hopWeights[hop];
+    }
+
+
+    /**
+     * The path weight from start to end.
+     *
+     * @return the total weight, positive infinity if the path is empty.
+     */
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+
+
+    /**
+     * Creates a graph object with the vertices and edges of the path, in the form
+     * the map panel draws it.
+     *
+     * @return the path graph, empty if the path is empty.
+     */
+    public Graph<T> toGraph() {
+        Graph<T> pathGraph = new Graph<>();
+        if (isEmpty()) {
+            System.out.println("End vertex is unreachable or does not exist.");
+            return pathGraph;
+        }
+
+        for (Vertex<T> vertex : vertices) {
+            pathGraph.addVertex(vertex);
+        }
+        for (int i = 1; i < vertices.size(); i++) {
+            pathGraph.addEdge(vertices.get(i - 1), vertices.get(i), hopWeights[i - 1]);
+        }
+        return pathGraph;
+    }
+
+
+    @Override
+    public String toString() {
+        return vertices.stream().map(v -> String.valueOf(v.getInfo())).toList() + " " + totalWeight;
+    }
+}
@@ -0,0 +1,126 @@
+package model.dijkstra;
+
+import model.prioQ.DoubleMinHeap;
+
+import java.util.Arrays;
+
+
+/**
+ * Reusable search state for the path finding on a {@link model.graph.CsrGraph} snapshot.
+ * The path weight and predecessor of every vertex are kept in arrays that live between
+ * queries. Instead of resetting the arrays before each query, every entry is stamped with
+ * the generation of the query that wrote it, and an entry with an older stamp is read as
+ * not reached. Starting a query only bumps the generation and empties the queue, so a
+ * query costs what it touches and not the size of the graph.
+ * <p>
+ * A workspace is not thread safe. {@link #forThread(int, int)} hands out one per thread
+ * and slot, a search that needs two at the same time, like the bidirectional one, uses
+ * two slots.
+ */
+public class SearchWorkspace {
+    public static final int FORWARD = 0;
+    public static final int BACKWARD = 1;
+    private static final int SLOTS = 2;
+
+    private static final ThreadLocal<SearchWorkspace[]> WORKSPACES =
+            ThreadLocal.withInitial(() -> new SearchWorkspace[SLOTS]);
+
+    private final double[] weights;
+    private final int[] previous;
+    private final int[] stamps;
+    private final DoubleMinHeap queue;
+    private int generation;
+
+    public SearchWorkspace(int capacity) {
+        this.weights = new double[capacity];
+        this.previous = new int[capacity];
+        this.stamps = new int[capacity];
+        this.queue = new DoubleMinHeap(capacity);
+        this.generation = 0;
+    }
+
+
+    /**
+     * Returns the workspace of the current thread for a slot, a new one is only
+     * created the first time or when the graph has grown past the capacity.
+     *
+     * @param slot     {@link #FORWARD} or {@link #BACKWARD}.
+     * @param capacity the number of vertices in the graph to search.
+     * @return a workspace ready for a new query.
+     */
+    public static SearchWorkspace forThread(int slot, int capacity) {
+        SearchWorkspace[] workspaces = WORKSPACES.get();
+        SearchWorkspace workspace = workspaces[slot];
+        if (workspace == null || workspace.capacity() < capacity) {
+            workspace = new SearchWorkspace(capacity);
+            workspaces[slot] = workspace;
+        }
+        workspace.begin();
+        return workspace;
+    }
+
+
+    /**
+     * Starts a new query, every vertex is unreached afterwards.
+     */
+    public void begin() {
+        queue.clear();
+        generation++;
+        if (generation == 0) {
+            // The counter has wrapped, old stamps could be read as current.
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+
+    public boolean isReached(int vertex) {
+        return stamps[vertex] == generation;
+    }
+
+
+    /**
+     * The path weight of a vertex in the current query.
+     *
+     * @param vertex the dense vertex id.
+     * @return the path weight, positive infinity if the vertex has not been reached.
+     */
+    public double getWeight(int vertex) {
+        return stamps[vertex] == generation ? weights[vertex] : Double.POSITIVE_INFINITY;
+    }
+
+
+    /**
+     * The predecessor of a vertex in the current query.
+     *
+     * @param vertex the dense vertex id.
+     * @return the previous vertex on the path, -1 if there is none.
+     */
+    public int getPrevious(int vertex) {
+        return stamps[vertex] == generation ? previous[vertex] : -1;
+    }
+
+
+    /**
+     * Sets the path weight and predecessor of a vertex in the current query.
+     *
+     * @param vertex       the dense vertex id.
+     * @param weight       the path weight.
+     * @param previousNode the previous vertex on the path, -1 for the start vertex.
+     */
+    public void set(int vertex, double weight, int previousNode) {
+        weights[vertex] = weight;
+        previous[vertex] = previousNode;
+        stamps[vertex] = generation;
+    }
+
+
+    public DoubleMinHeap getQueue() {
+        return queue;
+    }
+
+
+    public int capacity() {
+        return stamps.length;
+    }
+}
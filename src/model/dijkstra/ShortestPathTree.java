@@ -0,0 +1,86 @@
+package model.dijkstra;
+
+import model.graph.CsrGraph;
+import model.graph.Vertex;
+
+
+/**
+ * The shortest path tree of one search from a source vertex on a {@link CsrGraph} snapshot,
+ * created with {@link Dijkstra#getShortestPathTree(CsrGraph, Vertex, Iterable)}.
+ * Every settled vertex keeps its path weight and its predecessor, so the path to any of them
+ * is read back in time proportional to its length without searching again.
+ * <p>
+ * When the search was stopped after the requested targets were settled, vertices that were
+ * only reached but not settled may not have their lowest weight yet and count as not in the tree.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class ShortestPathTree<T> {
+    private final CsrGraph<T> graph;
+    private final SearchWorkspace workspace;
+    private final int source;
+    private final int settledCount;
+
+    ShortestPathTree(CsrGraph<T> graph, SearchWorkspace workspace, int source, int settledCount) {
+        this.graph = graph;
+        this.workspace = workspace;
+        this.source = source;
+        this.settledCount = settledCount;
+    }
+
+
+    public Vertex<T> getSource() {
+        return graph.getVertex(source);
+    }
+
+
+    /**
+     * Checks if the lowest weight path to a vertex is known.
+     *
+     * @param vertex the vertex to look up.
+     * @return true if the vertex was settled by the search.
+     */
+    public boolean contains(Vertex<T> vertex) {
+        return isSettled(graph.getId(vertex.getInfo()));
+    }
+
+
+    /**
+     * The lowest path weight from the source to a vertex.
+     *
+     * @param vertex the vertex to look up.
+     * @return the path weight, positive infinity if the vertex is not in the tree.
+     */
+    public double getWeight(Vertex<T> vertex) {
+        int id = graph.getId(vertex.getInfo());
+        return isSettled(id) ? workspace.getWeight(id) : Double.POSITIVE_INFINITY;
+    }
+
+
+    /**
+     * The lowest weight path from the source to a vertex.
+     *
+     * @param vertex the vertex which the path should reach.
+     * @return the path, empty if the vertex is not in the tree.
+     */
+    public PathResult<T> getPath(Vertex<T> vertex) {
+        int id = graph.getId(vertex.getInfo());
+        return isSettled(id) ? Dijkstra.buildPath(graph, workspace, id) : PathResult.empty();
+    }
+
+
+    /**
+     * The number of vertices dequeued while the tree was built.
+     *
+     * @return the number of settled vertices.
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+
+    // Reached vertices still in the queue only have a tentative weight.
+    private boolean isSettled(int id) {
+        return id != -1 && workspace.isReached(id) && !workspace.getQueue().contains(id);
+    }
+}
@@ -0,0 +1,184 @@
+package model.dijkstra;
+
+import model.graph.CsrGraph;
+import model.graph.Vertex;
+import model.mst.BottleneckTree;
+import model.prioQ.DoubleMinHeap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Widest path (maximum bottleneck) routing on a {@link CsrGraph} snapshot, for bulk transfers
+ * that need the largest bandwidth along the whole route rather than the lowest weight.
+ * <p>
+ * The capacity of an edge is the smaller bandwidth of its two server halls, so the bottleneck
+ * of a path is the smallest bandwidth of any hall on it. The bandwidths are read when the
+ * search is created.
+ * <p>
+ * Without preprocessing a query is a Dijkstra search on the same {@link SearchWorkspace} and
+ * {@link DoubleMinHeap} as {@link Dijkstra}, keyed on the negated bottleneck so the widest
+ * vertex is settled first. With {@link #precompute()} a maximum spanning tree is built once
+ * and every query is answered from the tree path, see {@link BottleneckTree}.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class WidestPath<T> {
+    private final CsrGraph<T> graph;
+    private final double[] capacities;
+    private volatile BottleneckTree<T> tree;
+
+    /**
+     * Creates a widest path search.
+     *
+     * @param graph the snapshot to search.
+     */
+    public WidestPath(CsrGraph<T> graph) {
+        this.graph = graph;
+        this.capacities = new double[graph.numberOfArcs()];
+        for (int e = 0; e < capacities.length; e++) {
+            capacities[e] = Math.min(graph.getVertex(graph.source(e)).getBW(), graph.getVertex(graph.target(e)).getBW());
+        }
+    }
+
+
+    /**
+     * Builds the maximum spanning tree, later queries are answered from it without searching.
+     *
+     * @return this search.
+     */
+    public WidestPath<T> precompute() {
+        if (tree == null) {
+            tree = new BottleneckTree<>(graph, capacities);
+        }
+        return this;
+    }
+
+
+    /**
+     * The largest bandwidth a path between two vertices can have.
+     *
+     * @param from the vertex where the path starts.
+     * @param to   the vertex which the path should reach.
+     * @return the bottleneck bandwidth, positive infinity for the same vertex and 0 if there is no path.
+     */
+    public double getBottleneck(Vertex<T> from, Vertex<T> to) {
+        int start = graph.getId(from.getInfo());
+        int end = graph.getId(to.getInfo());
+        if (start == -1 || end == -1) {
+            return 0.0;
+        }
+        BottleneckTree<T> bottleneckTree = tree;
+        if (bottleneckTree != null) {
+            return bottleneckTree.getBottleneck(start, end);
+        }
+
+        SearchWorkspace workspace = search(start, end);
+        return workspace.isReached(end) ? -workspace.getWeight(end) : 0.0;
+    }
+
+
+    /**
+     * Calculates a path with the largest bottleneck. The hop weights and total weight are the
+     * usual edge weights, so the path can be compared with the lowest weight route.
+     *
+     * @param from the vertex where the path starts.
+     * @param to   the vertex which the path should reach.
+     * @return the path, empty if there is none.
+     */
+    public PathResult<T> getWidestPath(Vertex<T> from, Vertex<T> to) {
+        int start = graph.getId(from.getInfo());
+        int end = graph.getId(to.getInfo());
+        if (start == -1 || end == -1) {
+            return PathResult.empty();
+        }
+        BottleneckTree<T> bottleneckTree = tree;
+        if (bottleneckTree != null) {
+            int[] path = bottleneckTree.getPath(start, end);
+            return path == null ? PathResult.empty() : toPath(path);
+        }
+
+        SearchWorkspace workspace = search(start, end);
+        if (!workspace.isReached(end)) {
+            return PathResult.empty();
+        }
+        int hops = 0;
+        for (int v = end; workspace.getPrevious(v) != -1; v = workspace.getPrevious(v)) {
+            hops++;
+        }
+        int[] path = new int[hops + 1];
+        for (int v = end, i = hops; i >= 0; v = workspace.getPrevious(v), i--) {
+            path[i] = v;
+        }
+        return toPath(path);
+    }
+
+
+    public CsrGraph<T> getGraph() {
+        return graph;
+    }
+
+
+    /**
+     * The capacity of an arc, the smaller bandwidth of its two end points.
+     *
+     * @param arc the index of the arc in the snapshot.
+     * @return the capacity.
+     */
+    public double getCapacity(int arc) {
+        return capacities[arc];
+    }
+
+
+    // Dijkstra on the negated bottleneck, the start is reached with an unlimited bottleneck.
+    private SearchWorkspace search(int start, int end) {
+        SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.numberOfVertices());
+        DoubleMinHeap queue = workspace.getQueue();
+        workspace.set(start, Double.NEGATIVE_INFINITY, -1);
+        queue.insert(start, Double.NEGATIVE_INFINITY);
+
+        while (!queue.isEmpty()) {
+            int current = queue.extractMin();
+            if (current == end) {
+                break;
+            }
+            double currentKey = workspace.getWeight(current);
+            for (int e = graph.edgeStart(current); e < graph.edgeEnd(current); e++) {
+                int next = graph.target(e);
+                double nextKey = Math.max(currentKey, -capacities[e]);
+                if (nextKey < workspace.getWeight(next)) {
+                    workspace.set(next, nextKey, current);
+                    queue.insertOrDecrease(next, nextKey);
+                }
+            }
+        }
+        return workspace;
+    }
+
+
+    private PathResult<T> toPath(int[] path) {
+        List<Vertex<T>> vertices = new ArrayList<>(path.length);
+        double[] hopWeights = new double[path.length - 1];
+        double totalWeight = 0.0;
+        for (int i = 0; i < path.length; i++) {
+            vertices.add(graph.getVertex(path[i]));
+            if (i > 0) {
+                hopWeights[i - 1] = arcWeight(path[i - 1], path[i]);
+                totalWeight += hopWeights[i - 1];
+            }
+        }
+        return new PathResult<>(vertices, hopWeights, totalWeight);
+    }
+
+
+    private double arcWeight(int from, int to) {
+        double weight = Double.POSITIVE_INFINITY;
+        for (int e = graph.edgeStart(from); e < graph.edgeEnd(from); e++) {
+            if (graph.target(e) == to) {
+                weight = Math.min(weight, graph.weight(e));
+            }
+        }
+        return weight;
+    }
+}
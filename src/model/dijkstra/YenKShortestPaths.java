@@ -0,0 +1,248 @@
+package model.dijkstra;
+
+import model.graph.CsrGraph;
+import model.graph.Graph;
+import model.graph.Vertex;
+import model.prioQ.DoubleMinHeap;
+import model.prioQ.IndexedMinHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+
+/**
+ * Yen's algorithm for the k lowest weight loopless paths between two vertices, used to find
+ * alternative routes when the best one fails.
+ * <p>
+ * Every new path deviates from an earlier one at a spur vertex: the root up to the spur vertex
+ * is kept and a spur path to the end vertex is searched with the root vertices and the next
+ * edges of the earlier paths with the same root removed. The lowest candidate becomes the
+ * next path. Only spur vertices from where the previous path deviated are tried, and at most
+ * maxDeviationDepth of them per path.
+ * <p>
+ * The shortest path tree towards the end vertex is computed once on the reverse graph. Its
+ * weights are exact lower bounds for every spur search, since removing vertices and edges can
+ * only make paths heavier, so each spur search is an A* search that goes almost straight to the
+ * end vertex. The spur searches of one round are independent and run in parallel.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class YenKShortestPaths<T> {
+    public static final int MAX_PATHS = 64;
+
+    private final CsrGraph<T> graph;
+    private final int maxDeviationDepth;
+
+    /**
+     * Creates a search on a snapshot of the graph.
+     *
+     * @param graph the graph to search, a snapshot is taken so later changes are not seen.
+     */
+    public YenKShortestPaths(Graph<T> graph) {
+        this(graph.freeze(), Integer.MAX_VALUE);
+    }
+
+
+    /**
+     * Creates a search on a snapshot.
+     *
+     * @param graph             the snapshot to search.
+     * @param maxDeviationDepth the largest number of spur vertices tried per path.
+     */
+    public YenKShortestPaths(CsrGraph<T> graph, int maxDeviationDepth) {
+        if (maxDeviationDepth <= 0) {
+            throw new IllegalArgumentException("At least one spur vertex per path is needed!");
+        }
+        this.graph = graph;
+        this.maxDeviationDepth = maxDeviationDepth;
+    }
+
+
+    /**
+     * Calculates up to k loopless paths in order of increasing weight.
+     *
+     * @param startVertex the vertex where the paths start.
+     * @param endVertex   the vertex which the paths should reach.
+     * @param k           the number of paths, at most {@link #MAX_PATHS}.
+     * @return the paths, fewer than k if there are no more, empty if the end cannot be reached.
+     */
+    public List<PathResult<T>> getLowWeightPaths(Vertex<T> startVertex, Vertex<T> endVertex, int k) {
+        if (k <= 0 || k > MAX_PATHS) {
+            throw new IllegalArgumentException("k must be between 1 and " + MAX_PATHS + ": " + k);
+        }
+        int start = graph.getId(startVertex.getInfo());
+        int end = graph.getId(endVertex.getInfo());
+        List<PathResult<T>> paths = new ArrayList<>();
+        if (start == -1 || end == -1) {
+            return paths;
+        }
+
+        double[] toEnd = new Dijkstra<T>().getLowestWeights(graph.reverse(), end);
+        if (toEnd[start] == Double.POSITIVE_INFINITY) {
+            return paths;
+        }
+
+        Candidate first = spurPath(new int[]{start}, new double[0], 0, end, toEnd, new int[0]);
+        List<Candidate> accepted = new ArrayList<>();
+        accepted.add(first);
+        IndexedMinHeap<Candidate, Double> candidates = new IndexedMinHeap<>();
+        Set<Candidate> seen = new HashSet<>();
+        seen.add(first);
+
+        while (accepted.size() < k) {
+            Candidate previous = accepted.get(accepted.size() - 1);
+            int last = (int) Math.min(previous.vertices.length - 1, (long) previous.deviation + maxDeviationDepth);
+
+            List<Candidate> found = IntStream.range(previous.deviation, last).parallel()
+                    .mapToObj(i -> spur(previous, i, accepted, end, toEnd))
+                    .filter(Objects::nonNull)
+                    .toList();
+            for (Candidate candidate : found) {
+                if (seen.add(candidate)) {
+                    candidates.enqueue(candidate, candidate.totalWeight);
+                }
+            }
+
+            if (candidates.isEmpty()) {
+                break;
+            }
+            accepted.add(candidates.dequeue());
+        }
+
+        for (Candidate candidate : accepted) {
+            paths.add(candidate.toPath(graph));
+        }
+        return paths;
+    }
+
+
+    // The candidate that keeps the first i hops of the previous path and deviates at vertex i.
+    private Candidate spur(Candidate previous, int i, List<Candidate> accepted, int end, double[] toEnd) {
+        int[] root = Arrays.copyOf(previous.vertices, i + 1);
+        int spur = root[i];
+
+        // The next edge of every accepted path with the same root is removed.
+        int[] removedArcs = new int[accepted.size()];
+        int removed = 0;
+        for (Candidate path : accepted) {
+            if (path.vertices.length > i + 1 && Arrays.equals(path.vertices, 0, i + 1, root, 0, i + 1)) {
+                for (int e = graph.edgeStart(spur); e < graph.edgeEnd(spur); e++) {
+                    if (graph.target(e) == path.vertices[i + 1]) {
+                        removedArcs[removed++] = e;
+                    }
+                }
+            }
+        }
+
+        return spurPath(root, Arrays.copyOf(previous.hopWeights, i), i, end, toEnd, Arrays.copyOf(removedArcs, removed));
+    }
+
+
+    // A* from the last root vertex to the end with the other root vertices and the given arcs removed.
+    private Candidate spurPath(int[] root, double[] rootHops, int deviation, int end, double[] toEnd, int[] removedArcs) {
+        int spur = root[root.length - 1];
+        SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.numberOfVertices());
+        DoubleMinHeap queue = workspace.getQueue();
+
+        // Root vertices are marked as reached at negative infinity, no edge can improve on that.
+        for (int j = 0; j < root.length - 1; j++) {
+            workspace.set(root[j], Double.NEGATIVE_INFINITY, -1);
+        }
+        workspace.set(spur, 0.0, -1);
+        queue.insert(spur, toEnd[spur]);
+
+        while (!queue.isEmpty() && queue.peekKey() != Double.POSITIVE_INFINITY) {
+            int current = queue.extractMin();
+            if (current == end) {
+                return join(root, rootHops, deviation, workspace, end);
+            }
+
+            double currentWeight = workspace.getWeight(current);
+            for (int e = graph.edgeStart(current); e < graph.edgeEnd(current); e++) {
+                if (current == spur && contains(removedArcs, e)) {
+                    continue;
+                }
+                int next = graph.target(e);
+                double nextWeight = currentWeight + graph.weight(e);
+                if (nextWeight < workspace.getWeight(next)) {
+                    workspace.set(next, nextWeight, current);
+                    queue.insertOrDecrease(next, nextWeight + toEnd[next]);
+                }
+            }
+        }
+        return null;
+    }
+
+
+    private Candidate join(int[] root, double[] rootHops, int deviation, SearchWorkspace workspace, int end) {
+        int spurHops = 0;
+        for (int v = end; workspace.getPrevious(v) != -1; v = workspace.getPrevious(v)) {
+            spurHops++;
+        }
+
+        int[] vertices = Arrays.copyOf(root, root.length + spurHops);
+        double[] hopWeights = Arrays.copyOf(rootHops, rootHops.length + spurHops);
+        int v = end;
+        for (int j = vertices.length - 1; j >= root.length; j--) {
+            int previous = workspace.getPrevious(v);
+            vertices[j] = v;
+            hopWeights[j - 1] = workspace.getWeight(v) - workspace.getWeight(previous);
+            v = previous;
+        }
+
+        double totalWeight = 0.0;
+        for (double hop : hopWeights) {
+            totalWeight += hop;
+        }
+        return new Candidate(vertices, hopWeights, totalWeight, deviation);
+    }
+
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    // A path as dense ids, equal to another candidate with the same vertices.
+    private static class Candidate {
+        private final int[] vertices;
+        private final double[] hopWeights;
+        private final double totalWeight;
+        private final int deviation;
+
+        Candidate(int[] vertices, double[] hopWeights, double totalWeight, int deviation) {
+            this.vertices = vertices;
+            this.hopWeights = hopWeights;
+            this.totalWeight = totalWeight;
+            this.deviation = deviation;
+        }
+
+        <T> PathResult<T> toPath(CsrGraph<T> graph) {
+            List<Vertex<T>> path = new ArrayList<>(vertices.length);
+            for (int v : vertices) {
+                path.add(graph.getVertex(v));
+            }
+            return new PathResult<>(path, hopWeights, totalWeight);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Candidate candidate && Arrays.equals(vertices, candidate.vertices);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(vertices);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package model.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * A read-only compressed sparse row (CSR) snapshot of a {@link Graph}.
+ * Every vertex is given a dense int id in the range [0, n) and all adjacency lists
+ * are flattened into primitive arrays. The outgoing edges of vertex v are stored at
+ * the indices edgeStart(v) up to, but not including, edgeEnd(v).
+ * Created with {@link Graph#freeze()}, later changes to the graph are not reflected.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class CsrGraph<T> {
+    private final Vertex<T>[] vertices;
+    private final Map<T, Integer> ids;
+    private final int[] offsets;
+    private final int[] sources;
+    private final int[] targets;
+    private final double[] weights;
+    private final double[] xs;
+    private final double[] ys;
+    private final double minWeightPerDistance;
+    private final int nEdges;
+    private volatile CsrGraph<T> reverse;
+
+
+    @SuppressWarnings("unchecked")
+    CsrGraph(Graph<T> graph) {
+        List<Vertex<T>> vertexList = graph.getAllVertices();
+        int n = vertexList.size();
+
+        vertices = (Vertex<T>[]) new Vertex<?>[n];
+        ids = new HashMap<>(n * 2);
+        xs = new double[n];
+        ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            vertices[i] = vertexList.get(i);
+            ids.put(vertices[i].getInfo(), i);
+            xs[i] = vertices[i].getX();
+            ys[i] = vertices[i].getY();
+        }
+
+        offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + graph.getEdges(vertices[i].getInfo()).size();
+        }
+
+        sources = new int[offsets[n]];
+        targets = new int[offsets[n]];
+        weights = new double[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            int e = offsets[i];
+            for (Edge<T> edge : graph.getEdges(vertices[i].getInfo())) {
+                sources[e] = i;
+                targets[e] = ids.get(edge.getTo().getInfo());
+                weights[e] = edge.getWeight();
+                e++;
+            }
+        }
+        nEdges = graph.numberOfEdges();
+        minWeightPerDistance = calcMinWeightPerDistance();
+    }
+
+
+    /**
+     * Creates the transpose of a snapshot, every edge u -> v is stored as v -> u with
+     * the same weight. Vertex ids, coordinates and the weight bound are shared.
+     */
+    private CsrGraph(CsrGraph<T> forward) {
+        int n = forward.vertices.length;
+        int m = forward.targets.length;
+
+        vertices = forward.vertices;
+        ids = forward.ids;
+        xs = forward.xs;
+        ys = forward.ys;
+        nEdges = forward.nEdges;
+        minWeightPerDistance = forward.minWeightPerDistance;
+
+        offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            offsets[forward.targets[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] next = Arrays.copyOf(offsets, n);
+        sources = new int[m];
+        targets = new int[m];
+        weights = new double[m];
+        for (int e = 0; e < m; e++) {
+            int idx = next[forward.targets[e]]++;
+            sources[idx] = forward.targets[e];
+            targets[idx] = forward.sources[e];
+            weights[idx] = forward.weights[e];
+        }
+        reverse = forward;
+    }
+
+
+    /**
+     * Edge weights are the euclidean distance scaled by the bandwidth ratio of the
+     * endpoints, see {@link Edge}. The lowest weight per distance unit over all edges
+     * is therefore at least 0.5 * minBW / maxBW of the graph, and multiplying any
+     * straight line distance with it never overestimates the weight of a path.
+     */
+    private double calcMinWeightPerDistance() {
+        double min = Double.POSITIVE_INFINITY;
+        for (int e = 0; e < targets.length; e++) {
+            double distance = distance(sources[e], targets[e]);
+            if (distance > 0) {
+                min = Math.min(min, weights[e] / distance);
+            }
+        }
+        return min == Double.POSITIVE_INFINITY ? 0.0 : min;
+    }
+
+
+    /**
+     * Returns the snapshot with every edge reversed, which is what a backward search
+     * from the end vertex traverses. The weights of the two directions of an edge
+     * differ when the endpoint bandwidths differ, see {@link Edge}, so the backward
+     * search cannot use the forward arrays. Created on first use and then kept.
+     *
+     * @return the transposed snapshot
+     */
+    public CsrGraph<T> reverse() {
+        CsrGraph<T> result = reverse;
+        if (result == null) {
+            result = new CsrGraph<>(this);
+            reverse = result;
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns the dense id of the vertex identified by the given info.
+     *
+     * @param info the identifier of the vertex
+     * @return the dense id, or -1 if the vertex is not part of the snapshot
+     */
+    public int getId(T info) {
+        Integer id = ids.get(info);
+        return id == null ? -1 : id;
+    }
+
+
+    public Vertex<T> getVertex(int id) {
+        return vertices[id];
+    }
+
+
+    public List<Vertex<T>> getAllVertices() {
+        return new ArrayList<>(Arrays.asList(vertices));
+    }
+
+
+    /**
+     * Index of the first outgoing edge of the vertex.
+     *
+     * @param id the dense id of the vertex
+     * @return the first edge index
+     */
+    public int edgeStart(int id) {
+        return offsets[id];
+    }
+
+
+    /**
+     * Index one past the last outgoing edge of the vertex.
+     *
+     * @param id the dense id of the vertex
+     * @return the exclusive end edge index
+     */
+    public int edgeEnd(int id) {
+        return offsets[id + 1];
+    }
+
+
+    public double getX(int id) {
+        return xs[id];
+    }
+
+
+    public double getY(int id) {
+        return ys[id];
+    }
+
+
+    /**
+     * Straight line distance between two vertices in SWEREF99TM units.
+     *
+     * @param a the dense id of the first vertex
+     * @param b the dense id of the second vertex
+     * @return the euclidean distance
+     */
+    public double distance(int a, int b) {
+        double dX = xs[a] - xs[b];
+        double dY = ys[a] - ys[b];
+        return Math.sqrt(dX * dX + dY * dY);
+    }
+
+
+    /**
+     * The lowest ratio between edge weight and edge length in the snapshot. Any
+     * euclidean distance times this factor is a lower bound of the path weight,
+     * which makes it an admissible and consistent A* heuristic.
+     *
+     * @return the lowest weight per distance unit, 0 if there are no edges
+     */
+    public double getMinWeightPerDistance() {
+        return minWeightPerDistance;
+    }
+
+
+    /**
+     * A hash of the vertex count, the edge targets and the edge weights. Used to check
+     * that a stored index was built from the same snapshot before it is loaded.
+     *
+     * @return the fingerprint of the snapshot
+     */
+    public long fingerprint() {
+        long hash = vertices.length;
+        for (int i = 0; i <= vertices.length; i++) {
+            hash = 31 * hash + offsets[i];
+        }
+        for (int e = 0; e < targets.length; e++) {
+            hash = 31 * hash + targets[e];
+            hash = 31 * hash + Double.doubleToLongBits(weights[e]);
+        }
+        return hash;
+    }
+
+
+    public int source(int edge) {
+        return sources[edge];
+    }
+
+
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+
+    public double weight(int edge) {
+        return weights[edge];
+    }
+
+
+    /**
+     * Returns the number of vertices in the snapshot
+     *
+     * @return number of vertices
+     */
+    public int numberOfVertices() {
+        return vertices.length;
+    }
+
+
+    /**
+     * Returns the number of edges in the snapshot. One double edge
+     * between two vertices is counted as one edge, as in {@link Graph}
+     *
+     * @return number of edges
+     */
+    public int numberOfEdges() {
+        return nEdges;
+    }
+
+
+    /**
+     * Returns the number of directed edges stored in the edge arrays
+     *
+     * @return number of directed edges
+     */
+    public int numberOfArcs() {
+        return targets.length;
+    }
+}
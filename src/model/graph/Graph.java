@@ -10,6 +10,7 @@ public class Graph<T> implements GraphInterface<T> {
     private int nEdges;
     private HashMap<T, Vertex<T>> vertices;
     private HashMap<T, ArrayList<Edge<T>>> edges;
+    private final List<GraphChangeListener<T>> listeners = new ArrayList<>();
 
     public Graph() {
         vertices = new HashMap<>();
@@ -116,6 +117,39 @@ public class Graph<T> implements GraphInterface<T> {
             edges.get(infoA).add(edgeAB);
             edges.get(infoB).add(edgeBA);
             nEdges++;
+            for (GraphChangeListener<T> listener : new ArrayList<>(listeners)) {
+                listener.edgeAdded(vertexA, vertexB);
+            }
+        }
+    }
+
+
+    /**
+     * Removes the undirected edge between two vertices, both of its directed
+     * {@link Edge} objects
+     *
+     * @param infoA the identifier of vertex A
+     * @param infoB the identifier of vertex B
+     */
+    @Override
+    public void removeEdge(T infoA, T infoB) {
+        if (infoA == null || infoB == null) {
+            return;
+        }
+
+        if (vertices.containsKey(infoA) && vertices.containsKey(infoB)) {
+            List<Edge<T>> edgesA = edges.get(infoA);
+            int before = edgesA.size();
+            edgesA.removeIf(edge -> edge.getTo().getInfo().equals(infoB));
+            edges.get(infoB).removeIf(edge -> edge.getTo().getInfo().equals(infoA));
+            // A loop is stored twice in the same list.
+            int removed = infoA.equals(infoB) ? (before - edgesA.size()) / 2 : before - edgesA.size();
+            if (removed > 0) {
+                nEdges -= removed;
+                for (GraphChangeListener<T> listener : new ArrayList<>(listeners)) {
+                    listener.edgeRemoved(vertices.get(infoA), vertices.get(infoB));
+                }
+            }
         }
     }
 
@@ -133,14 +167,18 @@ public class Graph<T> implements GraphInterface<T> {
         }
 
         nEdges -= edges.get(info).size() / 2;
-        for (T key : edges.keySet()) {
-            edges.get(key).
-                    removeIf(edge ->
-                            edge.getTo().getInfo().equals(info));
+        // Every edge is stored in both directions, so only the neighbours hold edges back to it.
+        for (Edge<T> edge : edges.get(info)) {
+            edges.get(edge.getTo().getInfo()).
+                    removeIf(back ->
+                            back.getTo().getInfo().equals(info));
         }
-        vertices.remove(info);
+        Vertex<T> removed = vertices.remove(info);
         edges.remove(info);
         nVertices--;
+        for (GraphChangeListener<T> listener : new ArrayList<>(listeners)) {
+            listener.vertexRemoved(removed);
+        }
     }
 
 
@@ -174,4 +212,31 @@ public class Graph<T> implements GraphInterface<T> {
 
     }
 
+
+    /**
+     * Registers a listener that is told about every added and removed edge and
+     * every removed vertex
+     *
+     * @param listener the listener to add
+     */
+    public void addChangeListener(GraphChangeListener<T> listener) {
+        listeners.add(listener);
+    }
+
+
+    public void removeChangeListener(GraphChangeListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+
+    /**
+     * Creates a read-only {@link CsrGraph} snapshot of the graph, with dense
+     * vertex ids and the edges stored in primitive arrays
+     *
+     * @return a compressed sparse row copy of the graph
+     */
+    public CsrGraph<T> freeze() {
+        return new CsrGraph<>(this);
+    }
+
 }
@@ -0,0 +1,47 @@
+package model.graph;
+
+
+/**
+ * Receives the changes made to a {@link Graph} and its vertices, so results computed from
+ * the graph, like cached routes, can be dropped when they are no longer valid.
+ * Register with {@link Graph#addChangeListener(GraphChangeListener)} for edges and vertices
+ * and with {@link Vertex#addChangeListener(GraphChangeListener)} for the bandwidth of a vertex.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public interface GraphChangeListener<T> {
+
+    /**
+     * Called after an undirected edge has been added.
+     *
+     * @param from the first vertex of the edge.
+     * @param to   the second vertex of the edge.
+     */
+    default void edgeAdded(Vertex<T> from, Vertex<T> to) {
+    }
+
+    /**
+     * Called after an undirected edge has been removed.
+     *
+     * @param from the first vertex of the edge.
+     * @param to   the second vertex of the edge.
+     */
+    default void edgeRemoved(Vertex<T> from, Vertex<T> to) {
+    }
+
+    /**
+     * Called after a vertex and all its edges have been removed.
+     *
+     * @param vertex the removed vertex.
+     */
+    default void vertexRemoved(Vertex<T> vertex) {
+    }
+
+    /**
+     * Called after the bandwidth of a vertex has changed.
+     *
+     * @param vertex the changed vertex.
+     */
+    default void bandwidthChanged(Vertex<T> vertex) {
+    }
+}
@@ -40,6 +40,15 @@ public interface GraphInterface<T> {
      */
     public void addEdge(T infoA, T infoB);
 
+    /**
+     * Removes the undirected edge between two vertices, both of its directed
+     * {@link Edge} objects
+     *
+     * @param infoA the identifier of vertex A
+     * @param infoB the identifier of vertex B
+     */
+    public void removeEdge(T infoA, T infoB);
+
     /**
      * Removes the {@link Vertex} object identified by info, and all
      * {@link Edge} objects connected to it
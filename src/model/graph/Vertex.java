@@ -1,6 +1,8 @@
 package model.graph;
 
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
 
 public class Vertex<T> {
     private T info;
@@ -8,6 +10,7 @@ public class Vertex<T> {
     private double y;
     private double bw;
     private Color color;
+    private List<GraphChangeListener<T>> listeners;
 
 
     /**
@@ -89,7 +92,38 @@ public class Vertex<T> {
     }
 
     public void setZ(double bw) {
+        if (this.bw == bw) {
+            return;
+        }
         this.bw = bw;
+        if (listeners != null) {
+            for (GraphChangeListener<T> listener : new ArrayList<>(listeners)) {
+                listener.bandwidthChanged(this);
+            }
+        }
+    }
+
+
+    /**
+     * Registers a listener that is told when the bandwidth of this vertex changes.
+     * The list is only created for vertices that are watched.
+     *
+     * @param listener the listener to add.
+     */
+    public void addChangeListener(GraphChangeListener<T> listener) {
+        if (listeners == null) {
+            listeners = new ArrayList<>();
+        }
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+
+    public void removeChangeListener(GraphChangeListener<T> listener) {
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
     }
 
     @Override
@@ -0,0 +1,472 @@
+package model.hublabel;
+
+import model.dijkstra.SearchWorkspace;
+import model.graph.CsrGraph;
+import model.graph.Vertex;
+import model.prioQ.DoubleMinHeap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+
+/**
+ * A hub labeling index for exact path weight queries without searching the graph, built with
+ * pruned landmark labeling.
+ * <p>
+ * Every vertex v gets an out label, hubs h with the path weight from v to h, and an in label,
+ * hubs h with the path weight from h to v. The labels are built so that for every pair s, t
+ * some hub on a lowest weight path from s to t is in both the out label of s and the in label
+ * of t. The path weight is then the lowest sum over the hubs the two labels share, found by
+ * merging two label arrays sorted on hub rank.
+ * <p>
+ * The vertices are made hubs in order of importance, estimated by how many vertices lie below
+ * them in a sample of shortest path trees. For every hub a forward and a backward search is
+ * run, and a vertex already covered by the labels of earlier hubs is pruned and not expanded,
+ * so the later searches only touch a small part of the graph. Hubs are processed in batches
+ * whose searches run in parallel, each search pruned against the labels of the earlier batches.
+ * This can add some redundant entries, but every label is still exact.
+ * <p>
+ * All labels are stored in flat primitive arrays indexed by offsets per vertex, and can be
+ * saved to and loaded from a file so the index is not rebuilt at every start.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class HubLabels<T> {
+    private static final int FILE_MAGIC = 0x48554231;
+    private static final int SAMPLE_TREES = 128;
+    // The first hubs prune the most, so batches grow with the number of hubs already processed.
+    private static final int MAX_BATCH = 64;
+
+    private final CsrGraph<T> graph;
+    private final int[] outOffsets;
+    private final int[] outHubs;
+    private final double[] outWeights;
+    private final int[] inOffsets;
+    private final int[] inHubs;
+    private final double[] inWeights;
+
+
+    private HubLabels(CsrGraph<T> graph, int[] outOffsets, int[] outHubs, double[] outWeights,
+                      int[] inOffsets, int[] inHubs, double[] inWeights) {
+        this.graph = graph;
+        this.outOffsets = outOffsets;
+        this.outHubs = outHubs;
+        this.outWeights = outWeights;
+        this.inOffsets = inOffsets;
+        this.inHubs = inHubs;
+        this.inWeights = inWeights;
+    }
+
+
+    /**
+     * Builds the labels on all available processors.
+     *
+     * @param graph the snapshot to index.
+     * @return the hub labels.
+     */
+    public static <T> HubLabels<T> build(CsrGraph<T> graph) {
+        return build(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * Builds the labels.
+     *
+     * @param graph       the snapshot to index.
+     * @param parallelism the number of worker threads, 1 gives the plain sequential labeling.
+     * @return the hub labels.
+     */
+    public static <T> HubLabels<T> build(CsrGraph<T> graph, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("At least one worker thread is needed!");
+        }
+        int n = graph.numberOfVertices();
+        CsrGraph<T> reverse = graph.reverse();
+        Label[] out = new Label[n];
+        Label[] in = new Label[n];
+        for (int v = 0; v < n; v++) {
+            out[v] = new Label();
+            in[v] = new Label();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            int[] order = importanceOrder(graph, pool);
+            // Holds the out or in label of the current hub by rank, so a pruning test is one label scan.
+            ThreadLocal<double[]> hubWeights = ThreadLocal.withInitial(() -> {
+                double[] weights = new double[n];
+                Arrays.fill(weights, Double.POSITIVE_INFINITY);
+                return weights;
+            });
+
+            int rank = 0;
+            while (rank < n) {
+                int first = rank;
+                int batch = parallelism == 1 ? 1 : Math.max(1, Math.min(MAX_BATCH, first / 16));
+                int last = Math.min(n, first + batch);
+
+                List<Label[]> found = pool.submit(() -> IntStream.range(first, last).parallel()
+                        .mapToObj(r -> new Label[]{
+                                prunedSearch(reverse, order[r], in, out, hubWeights.get()),
+                                prunedSearch(graph, order[r], out, in, hubWeights.get())})
+                        .toList()).join();
+
+                // Applied in rank order so every label stays sorted on hub rank.
+                for (int r = first; r < last; r++) {
+                    Label[] entries = found.get(r - first);
+                    for (int i = 0; i < entries[0].size; i++) {
+                        out[entries[0].hubs[i]].add(r, entries[0].weights[i]);
+                    }
+                    for (int i = 0; i < entries[1].size; i++) {
+                        in[entries[1].hubs[i]].add(r, entries[1].weights[i]);
+                    }
+                }
+                rank = last;
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        int[] outOffsets = new int[n + 1];
+        int[] inOffsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            outOffsets[v + 1] = outOffsets[v] + out[v].size;
+            inOffsets[v + 1] = inOffsets[v] + in[v].size;
+        }
+        int[] outHubs = new int[outOffsets[n]];
+        double[] outWeights = new double[outOffsets[n]];
+        int[] inHubs = new int[inOffsets[n]];
+        double[] inWeights = new double[inOffsets[n]];
+        for (int v = 0; v < n; v++) {
+            System.arraycopy(out[v].hubs, 0, outHubs, outOffsets[v], out[v].size);
+            System.arraycopy(out[v].weights, 0, outWeights, outOffsets[v], out[v].size);
+            System.arraycopy(in[v].hubs, 0, inHubs, inOffsets[v], in[v].size);
+            System.arraycopy(in[v].weights, 0, inWeights, inOffsets[v], in[v].size);
+        }
+        return new HubLabels<>(graph, outOffsets, outHubs, outWeights, inOffsets, inHubs, inWeights);
+    }
+
+
+    /**
+     * Loads labels saved with {@link #save(File)}.
+     *
+     * @param graph the snapshot the labels were built from.
+     * @param file  the file to read.
+     * @return the hub labels.
+     * @throws IOException if the file cannot be read or was built from another graph.
+     */
+    public static <T> HubLabels<T> load(CsrGraph<T> graph, File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("Not a hub label file: " + file.getAbsolutePath());
+            }
+            if (in.readInt() != graph.numberOfVertices() || in.readLong() != graph.fingerprint()) {
+                throw new IOException("Hub label file does not match the graph: " + file.getAbsolutePath());
+            }
+
+            int n = graph.numberOfVertices();
+            int[] outOffsets = readInts(in, n + 1);
+            int[] outHubs = readInts(in, outOffsets[n]);
+            double[] outWeights = readDoubles(in, outOffsets[n]);
+            int[] inOffsets = readInts(in, n + 1);
+            int[] inHubs = readInts(in, inOffsets[n]);
+            double[] inWeights = readDoubles(in, inOffsets[n]);
+            return new HubLabels<>(graph, outOffsets, outHubs, outWeights, inOffsets, inHubs, inWeights);
+        }
+    }
+
+
+    /**
+     * Loads the labels from a file if it was built from the same graph, otherwise builds them
+     * and saves them to the file for the next start.
+     *
+     * @param graph the snapshot to index.
+     * @param file  the file to read or write.
+     * @return the hub labels.
+     */
+    public static <T> HubLabels<T> loadOrBuild(CsrGraph<T> graph, File file) {
+        if (file.isFile()) {
+            try {
+                return load(graph, file);
+            } catch (IOException e) {
+                System.err.println("Rebuilding hub labels: " + e.getMessage());
+            }
+        }
+
+        HubLabels<T> labels = build(graph);
+        try {
+            labels.save(file);
+        } catch (IOException e) {
+            System.err.println("Could not save hub labels: " + e.getMessage());
+        }
+        return labels;
+    }
+
+
+    /**
+     * Saves the labels together with a fingerprint of the graph.
+     *
+     * @param file the file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(graph.numberOfVertices());
+            out.writeLong(graph.fingerprint());
+            writeInts(out, outOffsets);
+            writeInts(out, outHubs);
+            writeDoubles(out, outWeights);
+            writeInts(out, inOffsets);
+            writeInts(out, inHubs);
+            writeDoubles(out, inWeights);
+        }
+    }
+
+
+    /**
+     * The lowest path weight from one vertex to another.
+     *
+     * @param from the dense id of the start vertex.
+     * @param to   the dense id of the end vertex.
+     * @return the path weight, positive infinity if there is no path.
+     */
+    public double getLowestWeight(int from, int to) {
+        if (from == to) {
+            return 0.0;
+        }
+        int i = outOffsets[from];
+        int iEnd = outOffsets[from + 1];
+        int j = inOffsets[to];
+        int jEnd = inOffsets[to + 1];
+        double best = Double.POSITIVE_INFINITY;
+
+        while (i < iEnd && j < jEnd) {
+            int a = outHubs[i];
+            int b = inHubs[j];
+            if (a == b) {
+                double weight = outWeights[i++] + inWeights[j++];
+                if (weight < best) {
+                    best = weight;
+                }
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return best;
+    }
+
+
+    /**
+     * The lowest path weight from one vertex to another.
+     *
+     * @param from the vertex where the path starts.
+     * @param to   the vertex which the path should reach.
+     * @return the path weight, positive infinity if there is no path or a vertex is not in the graph.
+     */
+    public double getLowestWeight(Vertex<T> from, Vertex<T> to) {
+        int start = graph.getId(from.getInfo());
+        int end = graph.getId(to.getInfo());
+        if (start == -1 || end == -1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return getLowestWeight(start, end);
+    }
+
+
+    public CsrGraph<T> getGraph() {
+        return graph;
+    }
+
+
+    /**
+     * The number of hub entries in all out and in labels.
+     *
+     * @return the size of the index.
+     */
+    public long numberOfEntries() {
+        return (long) outHubs.length + inHubs.length;
+    }
+
+
+    // A pruned Dijkstra from the hub, the returned label holds the reached vertices in place of hubs.
+    // Forward it finds in label entries and prunes on the out label of the hub, backward the other way around.
+    private static <T> Label prunedSearch(CsrGraph<T> graph, int hub, Label[] hubLabels, Label[] reachedLabels,
+                                          double[] hubWeights) {
+        Label hubLabel = hubLabels[hub];
+        for (int i = 0; i < hubLabel.size; i++) {
+            hubWeights[hubLabel.hubs[i]] = hubLabel.weights[i];
+        }
+
+        Label found = new Label();
+        SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.numberOfVertices());
+        DoubleMinHeap queue = workspace.getQueue();
+        workspace.set(hub, 0.0, -1);
+        queue.insert(hub, 0.0);
+
+        while (!queue.isEmpty()) {
+            int current = queue.extractMin();
+            double currentWeight = workspace.getWeight(current);
+            if (coveredWeight(reachedLabels[current], hubWeights) <= currentWeight) {
+                continue;
+            }
+            found.add(current, currentWeight);
+
+            for (int e = graph.edgeStart(current); e < graph.edgeEnd(current); e++) {
+                int next = graph.target(e);
+                double nextWeight = currentWeight + graph.weight(e);
+                if (nextWeight < workspace.getWeight(next)) {
+                    workspace.set(next, nextWeight, current);
+                    queue.insertOrDecrease(next, nextWeight);
+                }
+            }
+        }
+
+        for (int i = 0; i < hubLabel.size; i++) {
+            hubWeights[hubLabel.hubs[i]] = Double.POSITIVE_INFINITY;
+        }
+        return found;
+    }
+
+
+    // The lowest weight through a hub shared by the label and the hub weights.
+    private static double coveredWeight(Label label, double[] hubWeights) {
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < label.size; i++) {
+            double weight = hubWeights[label.hubs[i]] + label.weights[i];
+            if (weight < best) {
+                best = weight;
+            }
+        }
+        return best;
+    }
+
+
+    // Orders the vertices by the number of vertices below them in sampled shortest path trees,
+    // vertices on many lowest weight paths come first. Ties go to the vertex with more edges.
+    private static <T> int[] importanceOrder(CsrGraph<T> graph, ForkJoinPool pool) {
+        int n = graph.numberOfVertices();
+        Random random = new Random(n);
+        int[] sources = random.ints(Math.min(n, SAMPLE_TREES), 0, n).toArray();
+
+        long[] coverage = pool.submit(() -> Arrays.stream(sources).parallel()
+                .mapToObj(source -> subtreeSizes(graph, source))
+                .reduce(new long[n], (a, b) -> {
+                    long[] sum = new long[n];
+                    for (int v = 0; v < n; v++) {
+                        sum[v] = a[v] + b[v];
+                    }
+                    return sum;
+                })).join();
+
+        return IntStream.range(0, n).boxed()
+                .sorted((a, b) -> coverage[a] != coverage[b] ? Long.compare(coverage[b], coverage[a])
+                        : Integer.compare(degree(graph, b), degree(graph, a)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+
+    private static <T> long[] subtreeSizes(CsrGraph<T> graph, int source) {
+        int n = graph.numberOfVertices();
+        SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, n);
+        DoubleMinHeap queue = workspace.getQueue();
+        workspace.set(source, 0.0, -1);
+        queue.insert(source, 0.0);
+        int[] settled = new int[n];
+        int count = 0;
+
+        while (!queue.isEmpty()) {
+            int current = queue.extractMin();
+            settled[count++] = current;
+            double currentWeight = workspace.getWeight(current);
+            for (int e = graph.edgeStart(current); e < graph.edgeEnd(current); e++) {
+                int next = graph.target(e);
+                double nextWeight = currentWeight + graph.weight(e);
+                if (nextWeight < workspace.getWeight(next)) {
+                    workspace.set(next, nextWeight, current);
+                    queue.insertOrDecrease(next, nextWeight);
+                }
+            }
+        }
+
+        // Children are settled after their parent, so walking backwards adds every subtree up.
+        long[] sizes = new long[n];
+        for (int i = count - 1; i >= 0; i--) {
+            int v = settled[i];
+            sizes[v]++;
+            int parent = workspace.getPrevious(v);
+            if (parent != -1) {
+                sizes[parent] += sizes[v];
+            }
+        }
+        return sizes;
+    }
+
+
+    private static <T> int degree(CsrGraph<T> graph, int v) {
+        return graph.edgeEnd(v) - graph.edgeStart(v);
+    }
+
+
+    private static int[] readInts(DataInputStream in, int count) throws IOException {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+
+    private static double[] readDoubles(DataInputStream in, int count) throws IOException {
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readDouble();
+        }
+        return values;
+    }
+
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+
+    private static void writeDoubles(DataOutputStream out, double[] values) throws IOException {
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
+
+
+    // A growable label used while building, hubs by rank with their path weights.
+    private static class Label {
+        private int[] hubs = new int[4];
+        private double[] weights = new double[4];
+        private int size;
+
+        void add(int hub, double weight) {
+            if (size == hubs.length) {
+                hubs = Arrays.copyOf(hubs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            hubs[size] = hub;
+            weights[size++] = weight;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package model.mst;
+
+import model.graph.CsrGraph;
+import model.graph.Graph;
+import model.graph.Vertex;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+
+/**
+ * Minimum Spanning Tree (MST) utilizing Borůvka's Algorithm, which unlike {@link MST} and
+ * {@link Kruskal} does most of its work in parallel.
+ * <p>
+ * The snapshot is turned into a primitive edge list, one edge per pair of vertices weighted
+ * with the lighter of the two directions, as in {@link Kruskal}. Every round the cheapest edge
+ * leaving each component is found by scanning the remaining edges in parallel on a shared
+ * {@link ForkJoinPool}, those edges are added to the forest and their components are merged.
+ * The edges inside a merged component are then dropped, so the edge list shrinks with the
+ * number of components, which at least halves every round. Short edge lists are scanned on
+ * the calling thread, so small snapshots never start a worker thread.
+ * <p>
+ * Edges of the same weight are ordered by their index, so all components agree on which edge is
+ * the cheapest and no cycle can form. The forest is the same as the one {@link Kruskal} finds,
+ * and the same as the tree {@link MST} finds when no two edges weigh the same.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class Boruvka<T> implements MinimumSpanningTree<T> {
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a Borůvka MST on all available processors.
+     */
+    public Boruvka() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * Creates a Borůvka MST. The worker threads are shared with the other spanning tree
+     * algorithms of the same parallelism, and only used for snapshots with many edges.
+     *
+     * @param parallelism the number of worker threads.
+     */
+    public Boruvka(int parallelism) {
+        this.pool = SharedPools.of(parallelism);
+    }
+
+
+    @Override
+    public Graph<T> createMST(Graph<T> graph, Vertex<T> rootVertex) {
+        return createMST(graph.freeze(), rootVertex);
+    }
+
+
+    @Override
+    public Graph<T> createMST(CsrGraph<T> graph, Vertex<T> rootVertex) {
+        return Kruskal.treeOf(graph, createForest(graph), rootVertex);
+    }
+
+
+    /**
+     * Finds the minimum spanning forest, one tree for every connected part of the snapshot.
+     *
+     * @param graph the snapshot to span.
+     * @return the lighter arc of every forest edge, in the order they were added.
+     */
+    public int[] createForest(CsrGraph<T> graph) {
+        int n = graph.numberOfVertices();
+        int[] arcs = Kruskal.lighterArcs(graph);
+        int[] from = new int[arcs.length];
+        int[] to = new int[arcs.length];
+        double[] weights = new double[arcs.length];
+        for (int i = 0; i < arcs.length; i++) {
+            from[i] = graph.source(arcs[i]);
+            to[i] = graph.target(arcs[i]);
+            weights[i] = graph.weight(arcs[i]);
+        }
+
+        // Every vertex is labelled with the representative of its component.
+        int[] component = IntStream.range(0, n).toArray();
+        int[] representatives = IntStream.range(0, n).toArray();
+        int[] rootOf = new int[n];
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(n);
+        for (int v = 0; v < n; v++) {
+            cheapest.set(v, -1);
+        }
+        UnionFind sets = new UnionFind(n);
+        int[] forest = new int[Math.max(0, n - 1)];
+        int count = 0;
+
+        int[] edges = IntStream.range(0, arcs.length).toArray();
+        while (edges.length > 0) {
+            int[] remaining = edges;
+            SharedPools.run(pool, remaining.length, (start, end) -> {
+                for (int k = start; k < end; k++) {
+                    int i = remaining[k];
+                    offer(cheapest, component[from[i]], i, weights);
+                    offer(cheapest, component[to[i]], i, weights);
+                }
+            });
+
+            // Two components may pick the same edge, the second union then joins nothing.
+            for (int c : representatives) {
+                int i = cheapest.get(c);
+                if (i != -1) {
+                    cheapest.set(c, -1);
+                    if (sets.union(component[from[i]], component[to[i]])) {
+                        forest[count++] = arcs[i];
+                    }
+                }
+            }
+            int merged = 0;
+            for (int c : representatives) {
+                rootOf[c] = sets.find(c);
+                if (rootOf[c] == c) {
+                    representatives[merged++] = c;
+                }
+            }
+            representatives = Arrays.copyOf(representatives, merged);
+
+            SharedPools.run(pool, n, (start, end) -> {
+                for (int v = start; v < end; v++) {
+                    component[v] = rootOf[component[v]];
+                }
+            });
+            edges = SharedPools.filter(pool, remaining, i -> component[from[i]] != component[to[i]]);
+        }
+        return Arrays.copyOf(forest, count);
+    }
+
+
+    // Makes an edge the cheapest of a component unless a lighter one is already there.
+    private static void offer(AtomicIntegerArray cheapest, int component, int edge, double[] weights) {
+        while (true) {
+            int current = cheapest.get(component);
+            if (current != -1 && !lighter(edge, current, weights)) {
+                return;
+            }
+            if (cheapest.compareAndSet(component, current, edge)) {
+                return;
+            }
+        }
+    }
+
+
+    private static boolean lighter(int a, int b, double[] weights) {
+        return weights[a] < weights[b] || (weights[a] == weights[b] && a < b);
+    }
+}
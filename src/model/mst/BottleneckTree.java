@@ -0,0 +1,221 @@
+package model.mst;
+
+import model.graph.CsrGraph;
+import model.graph.Graph;
+import model.graph.Vertex;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+
+/**
+ * A maximum spanning forest over given arc capacities of a {@link CsrGraph} snapshot, used to
+ * answer bottleneck queries: the largest capacity c such that two vertices are joined by a path
+ * with no arc below c.
+ * <p>
+ * The path between two vertices in a maximum spanning tree is such a widest path, so after
+ * building the forest with Kruskal's algorithm in O(E log E), a query walks from both vertices
+ * up to their lowest common ancestor in O(path length) and returns the smallest capacity met.
+ * The capacities are treated as undirected, an edge has the smallest capacity of its two arcs.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class BottleneckTree<T> {
+    private final CsrGraph<T> graph;
+    // The forest rooted in the first vertex of every component.
+    private final int[] parent;
+    private final double[] parentCapacity;
+    private final int[] depth;
+    private final int[] component;
+    private final int numberOfTreeEdges;
+
+    /**
+     * Builds the maximum spanning forest.
+     *
+     * @param graph      the snapshot to span.
+     * @param capacities the capacity of every arc, indexed like the arcs of the snapshot.
+     */
+    public BottleneckTree(CsrGraph<T> graph, double[] capacities) {
+        if (capacities.length != graph.numberOfArcs()) {
+            throw new IllegalArgumentException("One capacity per arc is needed!");
+        }
+        this.graph = graph;
+        int n = graph.numberOfVertices();
+
+        double[] edgeCapacities = new double[capacities.length];
+        for (int arc = 0; arc < capacities.length; arc++) {
+            edgeCapacities[arc] = undirected(graph, capacities, arc);
+        }
+
+        // Kruskal on the arcs from the widest down, the second arc of an edge never joins anything.
+        int[] order = IntStream.range(0, capacities.length).boxed()
+                .sorted(Comparator.comparingDouble((Integer arc) -> edgeCapacities[arc]).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+        UnionFind sets = new UnionFind(n);
+        int[] treeOffsets = new int[n + 1];
+        int[] treeArcs = new int[Math.max(0, n - 1)];
+        int treeEdges = 0;
+        for (int arc : order) {
+            if (sets.union(graph.source(arc), graph.target(arc))) {
+                treeArcs[treeEdges++] = arc;
+            }
+        }
+        numberOfTreeEdges = treeEdges;
+
+        // The tree edges in both directions, grouped by vertex.
+        for (int i = 0; i < treeEdges; i++) {
+            treeOffsets[graph.source(treeArcs[i]) + 1]++;
+            treeOffsets[graph.target(treeArcs[i]) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            treeOffsets[v + 1] += treeOffsets[v];
+        }
+        int[] neighbours = new int[2 * treeEdges];
+        double[] neighbourCapacities = new double[2 * treeEdges];
+        int[] next = Arrays.copyOf(treeOffsets, n);
+        for (int i = 0; i < treeEdges; i++) {
+            int arc = treeArcs[i];
+            double capacity = edgeCapacities[arc];
+            int a = graph.source(arc);
+            int b = graph.target(arc);
+            neighbours[next[a]] = b;
+            neighbourCapacities[next[a]++] = capacity;
+            neighbours[next[b]] = a;
+            neighbourCapacities[next[b]++] = capacity;
+        }
+
+        parent = new int[n];
+        parentCapacity = new double[n];
+        depth = new int[n];
+        component = new int[n];
+        Arrays.fill(component, -1);
+        int[] stack = new int[n];
+        for (int root = 0; root < n; root++) {
+            if (component[root] != -1) {
+                continue;
+            }
+            parent[root] = -1;
+            parentCapacity[root] = Double.POSITIVE_INFINITY;
+            component[root] = root;
+            int top = 0;
+            stack[top++] = root;
+            while (top > 0) {
+                int v = stack[--top];
+                for (int i = treeOffsets[v]; i < treeOffsets[v + 1]; i++) {
+                    int child = neighbours[i];
+                    if (component[child] == -1) {
+                        component[child] = root;
+                        parent[child] = v;
+                        parentCapacity[child] = neighbourCapacities[i];
+                        depth[child] = depth[v] + 1;
+                        stack[top++] = child;
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * The largest capacity a path between two vertices can have.
+     *
+     * @param from the dense id of the first vertex.
+     * @param to   the dense id of the second vertex.
+     * @return the bottleneck capacity, positive infinity for the same vertex and 0 if they are not connected.
+     */
+    public double getBottleneck(int from, int to) {
+        if (component[from] != component[to]) {
+            return 0.0;
+        }
+        double bottleneck = Double.POSITIVE_INFINITY;
+        while (from != to) {
+            if (depth[from] < depth[to]) {
+                int swap = from;
+                from = to;
+                to = swap;
+            }
+            bottleneck = Math.min(bottleneck, parentCapacity[from]);
+            from = parent[from];
+        }
+        return bottleneck;
+    }
+
+
+    /**
+     * The tree path between two vertices, a path with the largest bottleneck.
+     *
+     * @param from the dense id of the start vertex.
+     * @param to   the dense id of the end vertex.
+     * @return the dense ids from start to end, or null if they are not connected.
+     */
+    public int[] getPath(int from, int to) {
+        if (component[from] != component[to]) {
+            return null;
+        }
+        int[] up = new int[depth[from] + 1];
+        int[] down = new int[depth[to] + 1];
+        int upCount = 0;
+        int downCount = 0;
+        while (from != to) {
+            if (depth[from] >= depth[to]) {
+                up[upCount++] = from;
+                from = parent[from];
+            } else {
+                down[downCount++] = to;
+                to = parent[to];
+            }
+        }
+        up[upCount++] = from;
+
+        int[] path = Arrays.copyOf(up, upCount + downCount);
+        for (int i = 0; i < downCount; i++) {
+            path[upCount + i] = down[downCount - 1 - i];
+        }
+        return path;
+    }
+
+
+    /**
+     * The tree edges as a graph, in the same form as {@link MST} returns a minimum spanning tree.
+     *
+     * @return a graph holding every vertex and the edges of the forest.
+     */
+    public Graph<T> toGraph() {
+        Graph<T> tree = new Graph<>();
+        for (int v = 0; v < graph.numberOfVertices(); v++) {
+            tree.addVertex(graph.getVertex(v));
+        }
+        for (int v = 0; v < graph.numberOfVertices(); v++) {
+            if (parent[v] != -1) {
+                tree.addEdge(graph.getVertex(parent[v]), graph.getVertex(v), parentCapacity[v]);
+            }
+        }
+        return tree;
+    }
+
+
+    public CsrGraph<T> getGraph() {
+        return graph;
+    }
+
+
+    public int numberOfTreeEdges() {
+        return numberOfTreeEdges;
+    }
+
+
+    // An edge is only as wide as the narrower of its two arcs.
+    private static <T> double undirected(CsrGraph<T> graph, double[] capacities, int arc) {
+        int from = graph.source(arc);
+        int to = graph.target(arc);
+        double capacity = capacities[arc];
+        for (int e = graph.edgeStart(to); e < graph.edgeEnd(to); e++) {
+            if (graph.target(e) == from) {
+                capacity = Math.min(capacity, capacities[e]);
+            }
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,73 @@
+package model.mst;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+
+/**
+ * Disjoint sets over the dense ids 0 to n - 1 that many threads can join at once without
+ * locks, used to label connected components in parallel.
+ * <p>
+ * A root is always linked under the root with the lower id, with a compare and set that fails
+ * and is retried if another thread linked it first. Finds halve the path they walk, also with
+ * compare and set, so a lost race only leaves a longer path behind. The representative of a
+ * set is its lowest id once all unions are done.
+ */
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;
+
+    /**
+     * Creates n sets with one id each.
+     *
+     * @param n the number of ids.
+     */
+    public ConcurrentUnionFind(int n) {
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+        }
+    }
+
+
+    /**
+     * Finds the representative of the set holding an id.
+     *
+     * @param id the id to look up.
+     * @return the representative id.
+     */
+    public int find(int id) {
+        while (true) {
+            int p = parent.get(id);
+            if (p == id) {
+                return id;
+            }
+            int grandParent = parent.get(p);
+            if (grandParent != p) {
+                parent.compareAndSet(id, p, grandParent);
+            }
+            id = p;
+        }
+    }
+
+
+    /**
+     * Joins the sets holding two ids.
+     *
+     * @param a the first id.
+     * @param b the second id.
+     * @return true if this call joined two different sets.
+     */
+    public boolean union(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return false;
+            }
+            int high = Math.max(rootA, rootB);
+            int low = Math.min(rootA, rootB);
+            if (parent.compareAndSet(high, high, low)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package model.mst;
+
+import model.graph.CsrGraph;
+import model.graph.Edge;
+import model.graph.Graph;
+import model.graph.GraphChangeListener;
+import model.graph.Vertex;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * A minimum spanning forest of a mutable {@link Graph} that is kept up to date as the graph
+ * changes, instead of being rebuilt with {@link MST} after every change.
+ * <p>
+ * The forest is kept in a {@link LinkCutTree} where every tree edge is a node of its own holding
+ * the edge weight, so the heaviest edge on the tree path between two vertices is found in
+ * O(log n) amortized time:
+ * <ul>
+ * <li>an added edge between two trees links them. Within a tree it replaces the heaviest edge on
+ * the path between its end points if it is lighter, otherwise it is not a tree edge,</li>
+ * <li>a removed tree edge splits its tree in two, and a removed vertex splits its tree into one
+ * part per tree neighbour. The parts are walked together until all but the largest are fully
+ * known, and only the edges leaving those smaller parts are looked at to join them again,
+ * lightest first. A removed edge outside the forest changes nothing.</li>
+ * </ul>
+ * An edge weighs the lighter of its two directions, as in {@link Kruskal}. The forest registers
+ * on the graph and is told about changes through {@link GraphChangeListener}.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public final class DynamicMST<T> implements GraphChangeListener<T> {
+    private final Graph<T> graph;
+    private final LinkCutTree tree;
+    private final Map<T, Integer> nodes;
+    // The tree edges of every vertex, keyed on the other vertex, as link cut tree edge nodes.
+    private final Map<T, Map<T, Integer>> treeEdges;
+    private final Map<Integer, TreeEdge<T>> edgesByNode;
+    private double totalWeight;
+    private int numberOfTreeEdges;
+
+    /**
+     * Builds the forest of the graph and registers on it.
+     *
+     * @param graph the graph to span, usually the Delaunay triangulation.
+     */
+    public DynamicMST(Graph<T> graph) {
+        this.graph = graph;
+        this.tree = new LinkCutTree();
+        this.nodes = new HashMap<>();
+        this.treeEdges = new HashMap<>();
+        this.edgesByNode = new HashMap<>();
+
+        CsrGraph<T> snapshot = graph.freeze();
+        for (int arc : new Kruskal<T>().createForest(snapshot)) {
+            Vertex<T> a = snapshot.getVertex(snapshot.source(arc));
+            Vertex<T> b = snapshot.getVertex(snapshot.target(arc));
+            addTreeEdge(a.getInfo(), b.getInfo(), snapshot.weight(arc));
+        }
+        graph.addChangeListener(this);
+    }
+
+
+    @Override
+    public void edgeAdded(Vertex<T> from, Vertex<T> to) {
+        T a = from.getInfo();
+        T b = to.getInfo();
+        if (a.equals(b)) {
+            return;
+        }
+        double weight = weight(a, b);
+        int nodeA = node(a);
+        int nodeB = node(b);
+        if (!tree.connected(nodeA, nodeB)) {
+            addTreeEdge(a, b, weight);
+            return;
+        }
+
+        int heaviest = tree.pathMax(nodeA, nodeB);
+        if (tree.getValue(heaviest) > weight) {
+            TreeEdge<T> replaced = edgesByNode.get(heaviest);
+            removeTreeEdge(replaced.a(), replaced.b());
+            addTreeEdge(a, b, weight);
+        }
+    }
+
+
+    @Override
+    public void edgeRemoved(Vertex<T> from, Vertex<T> to) {
+        T a = from.getInfo();
+        T b = to.getInfo();
+        if (isTreeEdge(a, b)) {
+            removeTreeEdge(a, b);
+            reconnect(List.of(a, b));
+        }
+    }
+
+
+    @Override
+    public void vertexRemoved(Vertex<T> vertex) {
+        T removed = vertex.getInfo();
+        Map<T, Integer> incident = treeEdges.get(removed);
+        List<T> neighbours = incident == null ? List.of() : new ArrayList<>(incident.keySet());
+        for (T neighbour : neighbours) {
+            removeTreeEdge(removed, neighbour);
+        }
+        Integer node = nodes.remove(removed);
+        if (node != null) {
+            tree.removeNode(node);
+        }
+        treeEdges.remove(removed);
+        if (neighbours.size() > 1) {
+            reconnect(neighbours);
+        }
+    }
+
+
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+
+
+    public int numberOfTreeEdges() {
+        return numberOfTreeEdges;
+    }
+
+
+    public boolean isTreeEdge(T a, T b) {
+        Map<T, Integer> incident = treeEdges.get(a);
+        return incident != null && incident.containsKey(b);
+    }
+
+
+    /**
+     * Whether two vertices are in the same tree of the forest.
+     *
+     * @param a the first vertex.
+     * @param b the second vertex.
+     * @return true if a path joins them.
+     */
+    public boolean connected(T a, T b) {
+        Integer nodeA = nodes.get(a);
+        Integer nodeB = nodes.get(b);
+        if (nodeA == null || nodeB == null) {
+            return a.equals(b) && graph.getVertex(a) != null;
+        }
+        return tree.connected(nodeA, nodeB);
+    }
+
+
+    /**
+     * The forest as a graph, in the same form as {@link MST} returns a minimum spanning tree.
+     *
+     * @return a graph holding every vertex of the graph and the edges of the forest.
+     */
+    public Graph<T> toGraph() {
+        Graph<T> forest = new Graph<>();
+        for (Vertex<T> v : graph.getAllVertices()) {
+            forest.addVertex(v);
+        }
+        for (TreeEdge<T> edge : edgesByNode.values()) {
+            forest.addEdge(edge.a(), edge.b());
+        }
+        return forest;
+    }
+
+
+    /**
+     * Stops following the changes of the graph.
+     */
+    public void detach() {
+        graph.removeChangeListener(this);
+    }
+
+
+    // Joins the parts a removed edge or vertex leaves behind, one part per given vertex.
+    private void reconnect(List<T> neighbours) {
+        int parts = neighbours.size();
+        Map<T, Integer> partOf = new HashMap<>();
+        List<ArrayDeque<T>> queues = new ArrayList<>(parts);
+        List<List<T>> members = new ArrayList<>(parts);
+        for (int i = 0; i < parts; i++) {
+            partOf.put(neighbours.get(i), i);
+            queues.add(new ArrayDeque<>(List.of(neighbours.get(i))));
+            members.add(new ArrayList<>(List.of(neighbours.get(i))));
+        }
+
+        // Walk all parts one vertex at a time, until only the largest is left unfinished.
+        int unfinished = parts;
+        while (unfinished > 1) {
+            for (int i = 0; i < parts; i++) {
+                ArrayDeque<T> queue = queues.get(i);
+                if (queue.isEmpty()) {
+                    continue;
+                }
+                T current = queue.poll();
+                for (T next : treeEdges.getOrDefault(current, Map.of()).keySet()) {
+                    if (!partOf.containsKey(next)) {
+                        partOf.put(next, i);
+                        queue.add(next);
+                        members.get(i).add(next);
+                    }
+                }
+                if (queue.isEmpty() && --unfinished == 1) {
+                    break;
+                }
+            }
+        }
+        int largest = 0;
+        while (largest < parts && queues.get(largest).isEmpty()) {
+            largest++;
+        }
+
+        // Every edge between two parts has an end in a finished part.
+        List<ReplacementEdge<T>> candidates = new ArrayList<>();
+        for (int i = 0; i < parts; i++) {
+            if (i == largest) {
+                continue;
+            }
+            for (T member : members.get(i)) {
+                for (Edge<T> edge : graph.getEdges(member)) {
+                    T other = edge.getTo().getInfo();
+                    int otherPart = partOf.getOrDefault(other, largest);
+                    if (otherPart != i) {
+                        candidates.add(new ReplacementEdge<>(member, other, i, otherPart, weight(member, other)));
+                    }
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(ReplacementEdge::weight));
+        UnionFind joined = new UnionFind(parts);
+        for (ReplacementEdge<T> candidate : candidates) {
+            if (joined.union(candidate.fromPart(), candidate.toPart())) {
+                addTreeEdge(candidate.from(), candidate.to(), candidate.weight());
+            }
+        }
+    }
+
+
+    private void addTreeEdge(T a, T b, double weight) {
+        int edgeNode = tree.addNode(weight);
+        tree.link(node(a), edgeNode);
+        tree.link(edgeNode, node(b));
+        treeEdges.computeIfAbsent(a, key -> new HashMap<>()).put(b, edgeNode);
+        treeEdges.computeIfAbsent(b, key -> new HashMap<>()).put(a, edgeNode);
+        edgesByNode.put(edgeNode, new TreeEdge<>(a, b));
+        totalWeight += weight;
+        numberOfTreeEdges++;
+    }
+
+
+    private void removeTreeEdge(T a, T b) {
+        int edgeNode = treeEdges.get(a).remove(b);
+        treeEdges.get(b).remove(a);
+        tree.cut(nodes.get(a), edgeNode);
+        tree.cut(edgeNode, nodes.get(b));
+        totalWeight -= tree.getValue(edgeNode);
+        edgesByNode.remove(edgeNode);
+        tree.removeNode(edgeNode);
+        numberOfTreeEdges--;
+    }
+
+
+    private int node(T info) {
+        return nodes.computeIfAbsent(info, key -> tree.addNode(Double.NEGATIVE_INFINITY));
+    }
+
+
+    // The lighter direction of the edges between two vertices.
+    private double weight(T a, T b) {
+        double weight = Double.POSITIVE_INFINITY;
+        for (Edge<T> edge : graph.getEdges(a)) {
+            if (edge.getTo().getInfo().equals(b)) {
+                weight = Math.min(weight, edge.getWeight());
+            }
+        }
+        for (Edge<T> edge : graph.getEdges(b)) {
+            if (edge.getTo().getInfo().equals(a)) {
+                weight = Math.min(weight, edge.getWeight());
+            }
+        }
+        return weight;
+    }
+
+
+    private record TreeEdge<T>(T a, T b) {
+    }
+
+
+    private record ReplacementEdge<T>(T from, T to, int fromPart, int toPart, double weight) {
+    }
+}
@@ -0,0 +1,236 @@
+package model.mst;
+
+import model.delaunay.Delaunay;
+import model.graph.CsrGraph;
+import model.graph.Graph;
+import model.graph.Vertex;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Minimum Spanning Tree (MST) utilizing Kruskal's Algorithm, an alternative to the Prim
+ * implementation in {@link MST}.
+ * <p>
+ * The snapshot stores every edge as two arcs, so the edges are first deduplicated to one per
+ * pair of vertices, weighted with the lighter of the two directions. They are then sorted once
+ * with a parallel primitive sort and added from the lightest up, an edge is kept when a
+ * {@link UnionFind} over the dense vertex ids shows that it joins two separate trees.
+ * <p>
+ * The sort keys pack the weight rounded to a float with the edge index into one long, rounding
+ * never swaps the order of two weights, so only runs with the same float are put in exact order
+ * afterwards. Weights are expected to be non negative.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class Kruskal<T> implements MinimumSpanningTree<T> {
+
+    @Override
+    public Graph<T> createMST(Graph<T> graph, Vertex<T> rootVertex) {
+        return createMST(graph.freeze(), rootVertex);
+    }
+
+
+    @Override
+    public Graph<T> createMST(CsrGraph<T> graph, Vertex<T> rootVertex) {
+        return treeOf(graph, createForest(graph), rootVertex);
+    }
+
+
+    /**
+     * Finds the minimum spanning forest, one tree for every connected part of the snapshot.
+     *
+     * @param graph the snapshot to span.
+     * @return the lighter arc of every forest edge, in the order they were added.
+     */
+    public int[] createForest(CsrGraph<T> graph) {
+        int[] arcs = lighterArcs(graph);
+        int[] from = new int[arcs.length];
+        int[] to = new int[arcs.length];
+        double[] weights = new double[arcs.length];
+        for (int i = 0; i < arcs.length; i++) {
+            from[i] = graph.source(arcs[i]);
+            to[i] = graph.target(arcs[i]);
+            weights[i] = graph.weight(arcs[i]);
+        }
+        int[] forest = spanningEdges(graph.numberOfVertices(), from, to, weights);
+        for (int i = 0; i < forest.length; i++) {
+            forest[i] = arcs[forest[i]];
+        }
+        return forest;
+    }
+
+
+    /**
+     * Creates the minimum spanning tree of the Delaunay triangulation of a list of vertices,
+     * without building the triangulated graph. The edges are streamed from
+     * {@link Delaunay#triangulateEdges(List)} into primitive arrays and weighted there, so the
+     * only {@link Graph} and edge objects built are those of the tree.
+     *
+     * @param vertices   the vertices to triangulate and span.
+     * @param rootVertex a vertex in the list, the tree spans its part of the triangulation.
+     * @return a graph object holding the vertices and edges of the tree.
+     */
+    public Graph<T> createMST(List<Vertex<T>> vertices, Vertex<T> rootVertex) {
+        int root = vertices.indexOf(rootVertex);
+        if (root == -1) {
+            return new Graph<>();
+        }
+        int[] edges = new Delaunay<T>().triangulateEdges(vertices);
+        int m = edges.length / 2;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] weights = new double[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = edges[2 * i];
+            to[i] = edges[2 * i + 1];
+            weights[i] = lighterWeight(vertices.get(from[i]), vertices.get(to[i]));
+        }
+
+        int[] forest = spanningEdges(vertices.size(), from, to, weights);
+        int[] treeFrom = new int[forest.length];
+        int[] treeTo = new int[forest.length];
+        for (int i = 0; i < forest.length; i++) {
+            treeFrom[i] = from[forest[i]];
+            treeTo[i] = to[forest[i]];
+        }
+        return treeOf(vertices, treeFrom, treeTo, root);
+    }
+
+
+    /**
+     * The total weight of a set of arcs, used to compare spanning trees.
+     *
+     * @param graph the snapshot the arcs are in.
+     * @param arcs  the arcs to add up.
+     * @return the sum of the arc weights.
+     */
+    public static <T> double totalWeight(CsrGraph<T> graph, int[] arcs) {
+        double total = 0.0;
+        for (int arc : arcs) {
+            total += graph.weight(arc);
+        }
+        return total;
+    }
+
+
+    // The tree of a spanning forest that holds the root, as a graph.
+    static <T> Graph<T> treeOf(CsrGraph<T> graph, int[] arcs, Vertex<T> rootVertex) {
+        int root = graph.getId(rootVertex.getInfo());
+        if (root == -1) {
+            return new Graph<>();
+        }
+        int[] from = new int[arcs.length];
+        int[] to = new int[arcs.length];
+        for (int i = 0; i < arcs.length; i++) {
+            from[i] = graph.source(arcs[i]);
+            to[i] = graph.target(arcs[i]);
+        }
+        return treeOf(graph.getAllVertices(), from, to, root);
+    }
+
+
+    // The tree holding the root, of a forest given as edge end points indexing the vertex list.
+    private static <T> Graph<T> treeOf(List<Vertex<T>> vertices, int[] from, int[] to, int root) {
+        Graph<T> mstGraph = new Graph<>();
+        UnionFind sets = new UnionFind(vertices.size());
+        for (int i = 0; i < from.length; i++) {
+            sets.union(from[i], to[i]);
+        }
+
+        int tree = sets.find(root);
+        for (int v = 0; v < vertices.size(); v++) {
+            if (sets.find(v) == tree) {
+                mstGraph.addVertex(vertices.get(v));
+            }
+        }
+        for (int i = 0; i < from.length; i++) {
+            if (sets.find(from[i]) == tree) {
+                mstGraph.addEdge(vertices.get(from[i]), vertices.get(to[i]), 0.0);
+            }
+        }
+        return mstGraph;
+    }
+
+
+    // Kruskal over an edge list, the indices of the forest edges in the order they were added.
+    static int[] spanningEdges(int n, int[] from, int[] to, double[] weights) {
+        long[] keys = new long[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            keys[i] = ((long) Float.floatToIntBits((float) weights[i]) << 32) | i;
+        }
+        Arrays.parallelSort(keys);
+        exactOrder(keys, weights);
+
+        UnionFind sets = new UnionFind(n);
+        int[] forest = new int[Math.max(0, n - 1)];
+        int count = 0;
+        for (int k = 0; k < keys.length && count < forest.length; k++) {
+            int i = (int) keys[k];
+            if (sets.union(from[i], to[i])) {
+                forest[count++] = i;
+            }
+        }
+        return Arrays.copyOf(forest, count);
+    }
+
+
+    // The lighter direction of the edge between two vertices, weighted as in Edge.
+    private static <T> double lighterWeight(Vertex<T> a, Vertex<T> b) {
+        if (a.getBW() <= 0 || b.getBW() <= 0) {
+            return Double.MAX_VALUE;
+        }
+        double dX = a.getX() - b.getX();
+        double dY = a.getY() - b.getY();
+        double distance = Math.sqrt(dX * dX + dY * dY);
+        return Math.min(distance * 0.5 / a.getBW() * b.getBW(), distance * 0.5 / b.getBW() * a.getBW());
+    }
+
+
+    // One arc per pair of vertices, the lighter direction, or the arc itself if it has no reverse.
+    static <T> int[] lighterArcs(CsrGraph<T> graph) {
+        int[] edges = new int[graph.numberOfArcs()];
+        int count = 0;
+        for (int arc = 0; arc < graph.numberOfArcs(); arc++) {
+            int from = graph.source(arc);
+            int to = graph.target(arc);
+            int reverse = -1;
+            for (int e = graph.edgeStart(to); e < graph.edgeEnd(to); e++) {
+                if (graph.target(e) == from) {
+                    reverse = e;
+                    break;
+                }
+            }
+            boolean lighter = reverse == -1 || graph.weight(arc) < graph.weight(reverse)
+                    || (graph.weight(arc) == graph.weight(reverse) && arc < reverse);
+            if (lighter && from != to) {
+                edges[count++] = arc;
+            }
+        }
+        return Arrays.copyOf(edges, count);
+    }
+
+
+    // Insertion sort on the exact weight within each run of keys with the same float weight.
+    private static void exactOrder(long[] keys, double[] weights) {
+        int start = 0;
+        while (start < keys.length) {
+            int end = start + 1;
+            while (end < keys.length && (keys[end] >>> 32) == (keys[start] >>> 32)) {
+                end++;
+            }
+            for (int i = start + 1; i < end; i++) {
+                long key = keys[i];
+                double weight = weights[(int) key];
+                int j = i - 1;
+                while (j >= start && weights[(int) keys[j]] > weight) {
+                    keys[j + 1] = keys[j];
+                    j--;
+                }
+                keys[j + 1] = key;
+            }
+            start = end;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package model.mst;
+
+import java.util.Arrays;
+
+
+/**
+ * A forest of unrooted trees that can be linked and cut, with the node of the largest value on
+ * the path between two nodes found in O(log n) amortized time per operation.
+ * <p>
+ * Every tree is split into preferred paths, each kept in a splay tree ordered by depth, and
+ * every splay node carries the node of the largest value in its subtree. To make a node the
+ * root its path to the root is exposed and reversed with a lazy flag. Nodes are dense ids,
+ * the ids of removed nodes are handed out again.
+ */
+public class LinkCutTree {
+    private static final int NONE = -1;
+
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private boolean[] reversed;
+    private double[] values;
+    // The node of the largest value in the splay subtree.
+    private int[] max;
+    private int[] free;
+    private int[] stack;
+    private int freeCount;
+    private int size;
+
+    /**
+     * Creates an empty forest.
+     */
+    public LinkCutTree() {
+        left = new int[16];
+        right = new int[16];
+        parent = new int[16];
+        reversed = new boolean[16];
+        values = new double[16];
+        max = new int[16];
+        free = new int[16];
+        stack = new int[16];
+    }
+
+
+    /**
+     * Adds a node that is a tree of its own.
+     *
+     * @param value the value compared on path queries.
+     * @return the id of the node.
+     */
+    public int addNode(double value) {
+        int node;
+        if (freeCount > 0) {
+            node = free[--freeCount];
+        } else {
+            if (size == values.length) {
+                grow();
+            }
+            node = size++;
+        }
+        left[node] = NONE;
+        right[node] = NONE;
+        parent[node] = NONE;
+        reversed[node] = false;
+        values[node] = value;
+        max[node] = node;
+        return node;
+    }
+
+
+    /**
+     * Removes a node, its id may be returned by a later {@link #addNode(double)}.
+     *
+     * @param node a node that is not linked to any other node.
+     */
+    public void removeNode(int node) {
+        access(node);
+        if (left[node] != NONE || right[node] != NONE) {
+            throw new IllegalArgumentException("Only an unlinked node can be removed!");
+        }
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, free.length * 2);
+        }
+        free[freeCount++] = node;
+    }
+
+
+    /**
+     * Joins the trees of two nodes with an edge between them.
+     *
+     * @param a a node.
+     * @param b a node in another tree.
+     */
+    public void link(int a, int b) {
+        makeRoot(a);
+        if (findRoot(b) == a) {
+            throw new IllegalArgumentException("The nodes are already in the same tree!");
+        }
+        parent[a] = b;
+    }
+
+
+    /**
+     * Removes the edge between two nodes.
+     *
+     * @param a a node.
+     * @param b a node linked to a.
+     */
+    public void cut(int a, int b) {
+        makeRoot(a);
+        access(b);
+        if (left[b] != NONE) {
+            push(left[b]);
+        }
+        if (left[b] != a || right[a] != NONE) {
+            throw new IllegalArgumentException("The nodes are not linked!");
+        }
+        left[b] = NONE;
+        parent[a] = NONE;
+        update(b);
+    }
+
+
+    public boolean connected(int a, int b) {
+        return a == b || findRoot(a) == findRoot(b);
+    }
+
+
+    /**
+     * Finds the node of the largest value on the tree path between two nodes, both included.
+     *
+     * @param a a node.
+     * @param b a node in the same tree.
+     * @return the node with the largest value.
+     */
+    public int pathMax(int a, int b) {
+        makeRoot(a);
+        access(b);
+        return max[b];
+    }
+
+
+    public double getValue(int node) {
+        return values[node];
+    }
+
+
+    private void makeRoot(int node) {
+        access(node);
+        reversed[node] = !reversed[node];
+    }
+
+
+    private int findRoot(int node) {
+        access(node);
+        int root = node;
+        push(root);
+        while (left[root] != NONE) {
+            root = left[root];
+            push(root);
+        }
+        splay(root);
+        return root;
+    }
+
+
+    // Makes the path from the root to the node preferred, the node ends up at the splay root.
+    private void access(int node) {
+        int last = NONE;
+        for (int x = node; x != NONE; x = parent[x]) {
+            splay(x);
+            right[x] = last;
+            update(x);
+            last = x;
+        }
+        splay(node);
+    }
+
+
+    private void splay(int x) {
+        // Push the lazy flags down from the splay root before rotating.
+        int depth = 0;
+        stack[depth++] = x;
+        for (int y = x; !isSplayRoot(y); y = parent[y]) {
+            stack[depth++] = parent[y];
+        }
+        while (depth > 0) {
+            push(stack[--depth]);
+        }
+
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                boolean zigZig = (left[g] == p) == (left[p] == x);
+                rotate(zigZig ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        boolean pIsRoot = isSplayRoot(p);
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NONE) {
+                parent[right[x]] = p;
+            }
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NONE) {
+                parent[left[x]] = p;
+            }
+            left[x] = p;
+        }
+        parent[p] = x;
+        parent[x] = g;
+        if (!pIsRoot) {
+            if (left[g] == p) {
+                left[g] = x;
+            } else {
+                right[g] = x;
+            }
+        }
+        update(p);
+        update(x);
+    }
+
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NONE || (left[p] != x && right[p] != x);
+    }
+
+
+    private void push(int x) {
+        if (reversed[x]) {
+            int swap = left[x];
+            left[x] = right[x];
+            right[x] = swap;
+            if (left[x] != NONE) {
+                reversed[left[x]] = !reversed[left[x]];
+            }
+            if (right[x] != NONE) {
+                reversed[right[x]] = !reversed[right[x]];
+            }
+            reversed[x] = false;
+        }
+    }
+
+
+    private void update(int x) {
+        int best = x;
+        if (left[x] != NONE && values[max[left[x]]] > values[best]) {
+            best = max[left[x]];
+        }
+        if (right[x] != NONE && values[max[right[x]]] > values[best]) {
+            best = max[right[x]];
+        }
+        max[x] = best;
+    }
+
+
+    private void grow() {
+        int capacity = values.length * 2;
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        reversed = Arrays.copyOf(reversed, capacity);
+        values = Arrays.copyOf(values, capacity);
+        max = Arrays.copyOf(max, capacity);
+        stack = new int[capacity];
+    }
+}
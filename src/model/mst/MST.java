@@ -1,73 +1,144 @@
 package model.mst;
 
 
+import model.graph.CsrGraph;
 import model.graph.Edge;
 import model.graph.Graph;
 import model.graph.Vertex;
-import model.prioQ.PriorityQueue;
+import model.prioQ.DoubleMinHeap;
+import model.prioQ.IndexedMinHeap;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 
 /**
  * Minimum Spanning Tree (MST) utilizing Prim's Algorithm.
+ * The queue holds vertices outside the tree keyed on their cheapest edge into the tree,
+ * a cheaper edge lowers the key in place so each vertex is dequeued once. Edges are weighted
+ * as described in {@link MinimumSpanningTree}.
  *
  * @param <T> the type in the Graph. The generic class type T.
  */
 
 //https://www.geeksforgeeks.org/prims-minimum-spanning-tree-mst-greedy-algo-5/
 
-public class MST<T> {
+public class MST<T> implements MinimumSpanningTree<T> {
+    @Override
     public Graph<T> createMST(Graph<T> delaunayGraph, Vertex<T> rootVertex) {
         Graph<T> mstGraph = new Graph<>();
 
         Set<Vertex<T>> visited = new HashSet<>();
-        PriorityQueue<Edge<T>, Double> prioQ = new PriorityQueue<>(delaunayGraph.getAllEdges().size());
+        Map<Vertex<T>, Edge<T>> cheapestEdges = new HashMap<>();
+        IndexedMinHeap<Vertex<T>, Double> prioQ = new IndexedMinHeap<>(delaunayGraph.numberOfVertices());
 
-        visited.add(rootVertex);
-        mstGraph.addVertex(rootVertex);
-
-        // Enqueue all edges connected to root (start vertex).
-        for (Edge<T> edge : delaunayGraph.getEdges(rootVertex.getInfo())) {
-            prioQ.enqueue(edge, edge.getWeight());
-        }
+        prioQ.enqueue(rootVertex, 0.0);
 
         while (!prioQ.isEmpty()) {
-            Edge<T> edge = prioQ.dequeue();
-            Vertex<T> fromVertex = edge.getFrom();
-            Vertex<T> toVertex = edge.getTo();
-
-            boolean isFromVisited = visited.contains(fromVertex);
-            boolean isToVisited = visited.contains(toVertex);
+            Vertex<T> newVertex = prioQ.dequeue();
+            visited.add(newVertex);
+            mstGraph.addVertex(newVertex);
 
-            if (isFromVisited && isToVisited) {
-                continue;
+            Edge<T> treeEdge = cheapestEdges.get(newVertex);
+            if (treeEdge != null) {
+                mstGraph.addEdge(treeEdge.getFrom(), newVertex, lighterWeight(delaunayGraph, treeEdge));
             }
 
-            Vertex<T> newVertex;
-            if (isFromVisited) {
-                newVertex = toVertex;
-            } else {
-                newVertex = fromVertex;
+            for (Edge<T> edg : delaunayGraph.getEdges(newVertex.getInfo())) {
+                Vertex<T> toVtx = edg.getTo();
+                if (visited.contains(toVtx)) {
+                    continue;
+                }
+
+                double weight = lighterWeight(delaunayGraph, edg);
+                if (!prioQ.contains(toVtx)) {
+                    cheapestEdges.put(toVtx, edg);
+                    prioQ.enqueue(toVtx, weight);
+                } else if (weight < prioQ.getWeight(toVtx)) {
+                    cheapestEdges.put(toVtx, edg);
+                    prioQ.decreaseKey(toVtx, weight);
+                }
             }
+        }
+        return mstGraph;
+    }
 
-            visited.add(newVertex);
-            mstGraph.addVertex(newVertex);
-            mstGraph.addEdge(fromVertex, toVertex, edge.getWeight());
 
-            for (Edge<T> edg : delaunayGraph.getEdges(newVertex.getInfo())) {
-                Vertex<T> fromVtx = edg.getFrom();
-                Vertex<T> toVtx = edg.getTo();
+    /**
+     * Creates the MST on a {@link CsrGraph} snapshot. The visited set and the cheapest
+     * edge of every vertex are kept in arrays over the dense vertex ids, and the queue
+     * is a primitive {@link DoubleMinHeap}.
+     *
+     * @param graph      the snapshot of the triangulated graph.
+     * @param rootVertex the vertex the tree is grown from.
+     * @return a graph object holding the vertices and edges of the tree.
+     */
+    @Override
+    public Graph<T> createMST(CsrGraph<T> graph, Vertex<T> rootVertex) {
+        Graph<T> mstGraph = new Graph<>();
+        int root = graph.getId(rootVertex.getInfo());
+        if (root == -1) {
+            return mstGraph;
+        }
+
+        boolean[] visited = new boolean[graph.numberOfVertices()];
+        int[] cheapestEdges = new int[graph.numberOfVertices()];
+        DoubleMinHeap prioQ = new DoubleMinHeap(graph.numberOfVertices());
+
+        cheapestEdges[root] = -1;
+        prioQ.insert(root, 0.0);
 
-                boolean isFromVtxVisited = visited.contains(fromVtx);
-                boolean isToVtxVisited = visited.contains(toVtx);
+        while (!prioQ.isEmpty()) {
+            int newVertex = prioQ.extractMin();
+            visited[newVertex] = true;
+            mstGraph.addVertex(graph.getVertex(newVertex));
+
+            int treeEdge = cheapestEdges[newVertex];
+            if (treeEdge != -1) {
+                mstGraph.addEdge(graph.getVertex(graph.source(treeEdge)), graph.getVertex(newVertex),
+                        lighterWeight(graph, treeEdge));
+            }
 
-                if (!isFromVtxVisited || !isToVtxVisited) {
-                    prioQ.enqueue(edg, edg.getWeight());
+            for (int e = graph.edgeStart(newVertex); e < graph.edgeEnd(newVertex); e++) {
+                int to = graph.target(e);
+                if (visited[to]) {
+                    continue;
+                }
+
+                double weight = lighterWeight(graph, e);
+                if (weight < prioQ.getKey(to)) {
+                    cheapestEdges[to] = e;
+                    prioQ.insertOrDecrease(to, weight);
                 }
             }
         }
         return mstGraph;
     }
-}
\ No newline at end of file
+
+
+    // The undirected weight of an edge, the lighter of its two directions.
+    private static <T> double lighterWeight(Graph<T> graph, Edge<T> edge) {
+        double weight = edge.getWeight();
+        for (Edge<T> back : graph.getEdges(edge.getTo().getInfo())) {
+            if (back.getTo().getInfo().equals(edge.getFrom().getInfo())) {
+                weight = Math.min(weight, back.getWeight());
+            }
+        }
+        return weight;
+    }
+
+
+    private static <T> double lighterWeight(CsrGraph<T> graph, int arc) {
+        double weight = graph.weight(arc);
+        int from = graph.source(arc);
+        int to = graph.target(arc);
+        for (int e = graph.edgeStart(to); e < graph.edgeEnd(to); e++) {
+            if (graph.target(e) == from) {
+                weight = Math.min(weight, graph.weight(e));
+            }
+        }
+        return weight;
+    }
+}
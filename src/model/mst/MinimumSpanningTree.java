@@ -0,0 +1,39 @@
+package model.mst;
+
+import model.graph.CsrGraph;
+import model.graph.Graph;
+import model.graph.Vertex;
+
+
+/**
+ * A minimum spanning tree algorithm, so the implementations can be swapped and compared.
+ * The tree spans the part of the graph reachable from the root vertex.
+ * <p>
+ * The two directions of an edge weigh differently when its halls have different bandwidths,
+ * see {@link model.graph.Edge}. Every implementation spans the undirected graph where an edge
+ * weighs the lighter of its two directions, so they all return a tree of the same weight, and
+ * the same tree when no two edges weigh the same.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public interface MinimumSpanningTree<T> {
+
+    /**
+     * Creates the minimum spanning tree of a graph.
+     *
+     * @param graph      the triangulated graph.
+     * @param rootVertex a vertex in the part of the graph to span.
+     * @return a graph object holding the vertices and edges of the tree.
+     */
+    Graph<T> createMST(Graph<T> graph, Vertex<T> rootVertex);
+
+
+    /**
+     * Creates the minimum spanning tree of a {@link CsrGraph} snapshot.
+     *
+     * @param graph      the snapshot of the triangulated graph.
+     * @param rootVertex a vertex in the part of the graph to span.
+     * @return a graph object holding the vertices and edges of the tree.
+     */
+    Graph<T> createMST(CsrGraph<T> graph, Vertex<T> rootVertex);
+}
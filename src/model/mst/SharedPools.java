@@ -0,0 +1,74 @@
+package model.mst;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+
+/**
+ * The fork join pools of the parallel spanning tree algorithms. One pool per parallelism is
+ * shared by every call, so no call pays for creating a pool, and a loop is only handed to the
+ * pool when it is long enough to gain from it. A pool starts its worker threads on the first
+ * loop it runs, and idle workers stop after a while.
+ */
+final class SharedPools {
+    // Loops shorter than this run on the calling thread.
+    static final int PARALLEL_THRESHOLD = 4096;
+    static final int CHUNK_SIZE = 1024;
+
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private SharedPools() {
+    }
+
+
+    /**
+     * The shared pool with a number of worker threads.
+     *
+     * @param parallelism the number of worker threads.
+     * @return the common pool if it has that parallelism, otherwise a pool kept for it.
+     */
+    static ForkJoinPool of(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive!");
+        }
+        if (parallelism == ForkJoinPool.commonPool().getParallelism()) {
+            return ForkJoinPool.commonPool();
+        }
+        return POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+
+
+    static boolean isParallel(ForkJoinPool pool, int size) {
+        return size >= PARALLEL_THRESHOLD && pool.getParallelism() > 1;
+    }
+
+
+    // Runs a loop over 0 to size in chunks on the pool, or on the calling thread if it is short.
+    static void run(ForkJoinPool pool, int size, ChunkTask task) {
+        if (!isParallel(pool, size)) {
+            task.run(0, size);
+            return;
+        }
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        pool.submit(() -> IntStream.range(0, chunks).parallel()
+                .forEach(chunk -> task.run(chunk * CHUNK_SIZE, Math.min(size, (chunk + 1) * CHUNK_SIZE)))).join();
+    }
+
+
+    // The values that pass the test in their order, on the pool only if there are many.
+    static int[] filter(ForkJoinPool pool, int[] values, IntPredicate keep) {
+        if (!isParallel(pool, values.length)) {
+            return Arrays.stream(values).filter(keep).toArray();
+        }
+        return pool.submit(() -> Arrays.stream(values).parallel().filter(keep).toArray()).join();
+    }
+
+
+    interface ChunkTask {
+        void run(int start, int end);
+    }
+}
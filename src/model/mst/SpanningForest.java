@@ -0,0 +1,232 @@
+package model.mst;
+
+import model.graph.CsrGraph;
+import model.graph.Graph;
+import model.graph.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+
+/**
+ * The minimum spanning forest of a {@link CsrGraph} snapshot that may fall apart in several
+ * connected components, with one tree and its cost per component. {@link MST} grows a single
+ * tree from a root and leaves out every component the root cannot reach.
+ * <p>
+ * The components are labelled first with a {@link ConcurrentUnionFind}, joining the end points
+ * of all arcs in parallel. The edges are then grouped by component and every component gets its
+ * own {@link Kruskal} pass over local ids, the largest components first, in parallel on a
+ * {@link ForkJoinPool} shared with {@link Boruvka}. Small snapshots are built on the calling
+ * thread. An edge weighs the lighter of its two directions, as in {@link Kruskal}.
+ * Components are numbered by their lowest vertex id.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class SpanningForest<T> {
+    private final CsrGraph<T> graph;
+    private final int[] component;
+    private final List<Graph<T>> trees;
+    private final double[] costs;
+    private final double totalCost;
+
+    private SpanningForest(CsrGraph<T> graph, int[] component, List<Graph<T>> trees, double[] costs) {
+        this.graph = graph;
+        this.component = component;
+        this.trees = trees;
+        this.costs = costs;
+        double total = 0.0;
+        for (double cost : costs) {
+            total += cost;
+        }
+        this.totalCost = total;
+    }
+
+
+    /**
+     * Builds the forest on all available processors.
+     *
+     * @param graph the snapshot to span.
+     * @return the forest.
+     */
+    public static <T> SpanningForest<T> build(CsrGraph<T> graph) {
+        return build(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * Builds the forest.
+     *
+     * @param graph       the snapshot to span.
+     * @param parallelism the number of worker threads.
+     * @return the forest.
+     */
+    public static <T> SpanningForest<T> build(CsrGraph<T> graph, int parallelism) {
+        ForkJoinPool pool = SharedPools.of(parallelism);
+        int n = graph.numberOfVertices();
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+        SharedPools.run(pool, graph.numberOfArcs(), (start, end) -> {
+            for (int arc = start; arc < end; arc++) {
+                sets.union(graph.source(arc), graph.target(arc));
+            }
+        });
+
+        // Dense component ids in order of the lowest vertex id, which is the representative.
+        int[] component = new int[n];
+        int components = 0;
+        for (int v = 0; v < n; v++) {
+            int root = sets.find(v);
+            component[v] = root == v ? components++ : component[root];
+        }
+
+        // The vertices and edges of every component, grouped with counting sorts.
+        int[] vertexOffsets = new int[components + 1];
+        for (int v = 0; v < n; v++) {
+            vertexOffsets[component[v] + 1]++;
+        }
+        for (int c = 0; c < components; c++) {
+            vertexOffsets[c + 1] += vertexOffsets[c];
+        }
+        int[] members = new int[n];
+        int[] localId = new int[n];
+        int[] nextVertex = Arrays.copyOf(vertexOffsets, components);
+        for (int v = 0; v < n; v++) {
+            localId[v] = nextVertex[component[v]] - vertexOffsets[component[v]];
+            members[nextVertex[component[v]]++] = v;
+        }
+
+        int[] edges = Kruskal.lighterArcs(graph);
+        int[] edgeOffsets = new int[components + 1];
+        for (int arc : edges) {
+            edgeOffsets[component[graph.source(arc)] + 1]++;
+        }
+        for (int c = 0; c < components; c++) {
+            edgeOffsets[c + 1] += edgeOffsets[c];
+        }
+        int[] grouped = new int[edges.length];
+        int[] nextEdge = Arrays.copyOf(edgeOffsets, components);
+        for (int arc : edges) {
+            grouped[nextEdge[component[graph.source(arc)]]++] = arc;
+        }
+
+        Integer[] largestFirst = new Integer[components];
+        for (int c = 0; c < components; c++) {
+            largestFirst[c] = c;
+        }
+        Arrays.sort(largestFirst, (a, b) -> Integer.compare(
+                vertexOffsets[b + 1] - vertexOffsets[b], vertexOffsets[a + 1] - vertexOffsets[a]));
+
+        List<Graph<T>> trees = new ArrayList<>(Collections.nCopies(components, null));
+        double[] costs = new double[components];
+        // One component has nothing to run beside it, and small snapshots stay on this thread.
+        if (components > 1 && SharedPools.isParallel(pool, n + edges.length)) {
+            pool.submit(() -> Arrays.stream(largestFirst).parallel().forEach(c ->
+                    trees.set(c, spanComponent(graph, members, vertexOffsets[c], vertexOffsets[c + 1],
+                            grouped, edgeOffsets[c], edgeOffsets[c + 1], localId, costs, c)))).join();
+        } else {
+            for (int c : largestFirst) {
+                trees.set(c, spanComponent(graph, members, vertexOffsets[c], vertexOffsets[c + 1],
+                        grouped, edgeOffsets[c], edgeOffsets[c + 1], localId, costs, c));
+            }
+        }
+        return new SpanningForest<>(graph, component, trees, costs);
+    }
+
+
+    public int numberOfTrees() {
+        return trees.size();
+    }
+
+
+    public Graph<T> getTree(int component) {
+        return trees.get(component);
+    }
+
+
+    public List<Graph<T>> getTrees() {
+        return Collections.unmodifiableList(trees);
+    }
+
+
+    public double getCost(int component) {
+        return costs[component];
+    }
+
+
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+
+    public CsrGraph<T> getGraph() {
+        return graph;
+    }
+
+
+    /**
+     * The component a vertex is in.
+     *
+     * @param vertex the vertex to look up.
+     * @return the component id, or -1 if the vertex is not in the snapshot.
+     */
+    public int getComponent(Vertex<T> vertex) {
+        int id = graph.getId(vertex.getInfo());
+        return id == -1 ? -1 : component[id];
+    }
+
+
+    /**
+     * All trees in one graph, in the same form as {@link MST} returns a minimum spanning tree.
+     *
+     * @return a graph holding every vertex of the snapshot and the edges of all trees.
+     */
+    public Graph<T> toGraph() {
+        Graph<T> forest = new Graph<>();
+        for (Graph<T> tree : trees) {
+            for (Vertex<T> v : tree.getAllVertices()) {
+                forest.addVertex(v);
+            }
+        }
+        for (Graph<T> tree : trees) {
+            for (Vertex<T> v : tree.getAllVertices()) {
+                tree.getEdges(v.getInfo()).stream()
+                        .filter(edge -> graph.getId(v.getInfo()) < graph.getId(edge.getTo().getInfo()))
+                        .forEach(edge -> forest.addEdge(v.getInfo(), edge.getTo().getInfo()));
+            }
+        }
+        return forest;
+    }
+
+
+    // Kruskal over the local ids of one component, the cost is written to its slot.
+    private static <T> Graph<T> spanComponent(CsrGraph<T> graph, int[] members, int firstVertex, int lastVertex,
+                                              int[] grouped, int firstEdge, int lastEdge, int[] localId,
+                                              double[] costs, int c) {
+        int m = lastEdge - firstEdge;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] weights = new double[m];
+        for (int i = 0; i < m; i++) {
+            int arc = grouped[firstEdge + i];
+            from[i] = localId[graph.source(arc)];
+            to[i] = localId[graph.target(arc)];
+            weights[i] = graph.weight(arc);
+        }
+        int[] forest = Kruskal.spanningEdges(lastVertex - firstVertex, from, to, weights);
+
+        Graph<T> tree = new Graph<>();
+        for (int i = firstVertex; i < lastVertex; i++) {
+            tree.addVertex(graph.getVertex(members[i]));
+        }
+        double cost = 0.0;
+        for (int i : forest) {
+            tree.addEdge(graph.getVertex(members[firstVertex + from[i]]), graph.getVertex(members[firstVertex + to[i]]),
+                    weights[i]);
+            cost += weights[i];
+        }
+        costs[c] = cost;
+        return tree;
+    }
+}
@@ -0,0 +1,83 @@
+package model.mst;
+
+
+/**
+ * Disjoint sets over the dense ids 0 to n - 1, with union by rank and path compression, so a
+ * long run of operations costs close to constant time each.
+ */
+public class UnionFind {
+    private final int[] parent;
+    private final byte[] rank;
+    private int sets;
+
+    /**
+     * Creates n sets with one id each.
+     *
+     * @param n the number of ids.
+     */
+    public UnionFind(int n) {
+        parent = new int[n];
+        rank = new byte[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        sets = n;
+    }
+
+
+    /**
+     * Finds the representative of the set holding an id, and points every id on the way
+     * straight at it.
+     *
+     * @param id the id to look up.
+     * @return the representative id, the same for every id in the set.
+     */
+    public int find(int id) {
+        int root = id;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[id] != root) {
+            int next = parent[id];
+            parent[id] = root;
+            id = next;
+        }
+        return root;
+    }
+
+
+    /**
+     * Joins the sets holding two ids, the tree of lower rank is put under the other.
+     *
+     * @param a the first id.
+     * @param b the second id.
+     * @return true if the ids were in different sets.
+     */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else if (rank[rootA] > rank[rootB]) {
+            parent[rootB] = rootA;
+        } else {
+            parent[rootB] = rootA;
+            rank[rootA]++;
+        }
+        sets--;
+        return true;
+    }
+
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+
+    public int numberOfSets() {
+        return sets;
+    }
+}
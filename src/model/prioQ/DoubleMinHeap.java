@@ -0,0 +1,255 @@
+package model.prioQ;
+
+import java.util.Arrays;
+
+
+/**
+ * A primitive min-heap of int ids keyed on double weights.
+ * Keys are stored in a double[] and ids in an int[], so no node objects or boxed
+ * weights are allocated, and sift-up/sift-down are iterative. The heap position of
+ * every id is tracked, which gives decrease-key and contains in constant lookup time.
+ * Ids must be in the range [0, capacity).
+ * <p>
+ * In verification mode the heap invariant and the position index are checked after
+ * every operation, which costs O(n) per call and is meant for tests and debugging.
+ */
+public class DoubleMinHeap {
+    private final double[] keys;
+    private final int[] ids;
+    private final int[] positions;
+    private final boolean verify;
+    private int size;
+
+    public DoubleMinHeap(int capacity) {
+        this(capacity, false);
+    }
+
+    public DoubleMinHeap(int capacity, boolean verify) {
+        this.keys = new double[capacity];
+        this.ids = new int[capacity];
+        this.positions = new int[capacity];
+        this.verify = verify;
+        this.size = 0;
+        Arrays.fill(positions, -1);
+    }
+
+
+    /**
+     * Adds an id to the heap.
+     *
+     * @param id  the id, in the range [0, capacity).
+     * @param key the priority of the id.
+     * @throws IllegalArgumentException if the id is out of range or already in the heap.
+     */
+    public void insert(int id, double key) {
+        if (id < 0 || id >= positions.length) {
+            throw new IllegalArgumentException("Id is out of range: " + id);
+        }
+        if (positions[id] != -1) {
+            throw new IllegalArgumentException("Id is already in the heap: " + id);
+        }
+
+        siftUp(size++, id, key);
+        check();
+    }
+
+
+    /**
+     * Removes and returns the id with the lowest key.
+     *
+     * @return the id with the lowest key.
+     * @throws IllegalArgumentException if the heap is empty.
+     */
+    public int extractMin() {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Heap is empty");
+        }
+
+        int min = ids[0];
+        positions[min] = -1;
+        size--;
+        if (size > 0) {
+            siftDown(0, ids[size], keys[size]);
+        }
+        check();
+        return min;
+    }
+
+
+    /**
+     * Lowers the key of an id in the heap.
+     *
+     * @param id  the id in the heap.
+     * @param key the new key, must not be greater than the current key.
+     * @throws IllegalArgumentException if the id is not in the heap or the key is greater.
+     */
+    public void decreaseKey(int id, double key) {
+        int idx = id >= 0 && id < positions.length ? positions[id] : -1;
+        if (idx == -1) {
+            throw new IllegalArgumentException("Id is not in the heap: " + id);
+        }
+        if (key > keys[idx]) {
+            throw new IllegalArgumentException("New key is greater than the current key!");
+        }
+
+        siftUp(idx, id, key);
+        check();
+    }
+
+
+    /**
+     * Changes the key of an id in the heap in either direction.
+     *
+     * @param id  the id in the heap.
+     * @param key the new key.
+     * @throws IllegalArgumentException if the id is not in the heap.
+     */
+    public void updateKey(int id, double key) {
+        int idx = id >= 0 && id < positions.length ? positions[id] : -1;
+        if (idx == -1) {
+            throw new IllegalArgumentException("Id is not in the heap: " + id);
+        }
+
+        if (key < keys[idx]) {
+            siftUp(idx, id, key);
+        } else {
+            siftDown(idx, id, key);
+        }
+        check();
+    }
+
+
+    /**
+     * Inserts the id, or lowers its key if it is already in the heap.
+     * A greater key for an id already in the heap is ignored.
+     *
+     * @param id  the id, in the range [0, capacity).
+     * @param key the priority of the id.
+     */
+    public void insertOrDecrease(int id, double key) {
+        if (contains(id)) {
+            if (key < keys[positions[id]]) {
+                decreaseKey(id, key);
+            }
+        } else {
+            insert(id, key);
+        }
+    }
+
+
+    public boolean contains(int id) {
+        return id >= 0 && id < positions.length && positions[id] != -1;
+    }
+
+
+    /**
+     * Returns the key of an id in the heap.
+     *
+     * @param id the id in the heap.
+     * @return the key, or positive infinity if the id is not in the heap.
+     */
+    public double getKey(int id) {
+        return contains(id) ? keys[positions[id]] : Double.POSITIVE_INFINITY;
+    }
+
+
+    /**
+     * Returns the lowest key without removing it.
+     *
+     * @return the lowest key, or positive infinity if the heap is empty.
+     */
+    public double peekKey() {
+        return size > 0 ? keys[0] : Double.POSITIVE_INFINITY;
+    }
+
+
+    /**
+     * Empties the heap. Only the positions of the ids still in the heap are reset,
+     * so the cost is proportional to the current size and not the capacity.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[ids[i]] = -1;
+        }
+        size = 0;
+    }
+
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+
+    public int capacity() {
+        return positions.length;
+    }
+
+
+    private void siftUp(int idx, int id, double key) {
+        while (idx > 0) {
+            int parent = (idx - 1) >>> 1;
+            if (key >= keys[parent]) {
+                break;
+            }
+            keys[idx] = keys[parent];
+            ids[idx] = ids[parent];
+            positions[ids[idx]] = idx;
+            idx = parent;
+        }
+        keys[idx] = key;
+        ids[idx] = id;
+        positions[id] = idx;
+    }
+
+
+    private void siftDown(int idx, int id, double key) {
+        int half = size >>> 1;
+        while (idx < half) {
+            int child = 2 * idx + 1;
+            int right = child + 1;
+            if (right < size && keys[right] < keys[child]) {
+                child = right;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            keys[idx] = keys[child];
+            ids[idx] = ids[child];
+            positions[ids[idx]] = idx;
+            idx = child;
+        }
+        keys[idx] = key;
+        ids[idx] = id;
+        positions[id] = idx;
+    }
+
+
+    /**
+     * Verifies that every parent key is lower than or equal to its children and
+     * that the position index points back at the right slot.
+     *
+     * @throws IllegalStateException if the heap is corrupt.
+     */
+    public void verifyHeap() {
+        for (int i = 0; i < size; i++) {
+            if (i > 0 && keys[(i - 1) / 2] > keys[i]) {
+                throw new IllegalStateException("Heap invariant violated at index " + i);
+            }
+            if (positions[ids[i]] != i) {
+                throw new IllegalStateException("Position index out of sync for id " + ids[i]);
+            }
+        }
+    }
+
+
+    private void check() {
+        if (verify) {
+            verifyHeap();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package model.prioQ;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * A min-heap priority queue that tracks the heap position of every element.
+ * An element can only be queued once, a better weight is applied in place with
+ * {@link #decreaseKey(Object, Comparable)} instead of enqueueing a duplicate,
+ * so the heap never holds more entries than there are distinct elements.
+ * The storage doubles in size when the heap is full.
+ *
+ * @param <DATA>   the type of the queued elements.
+ * @param <WEIGHT> the type of the priority, lowest weight is dequeued first.
+ */
+public class IndexedMinHeap<DATA, WEIGHT extends Comparable<WEIGHT>> implements PriorityQueueInterface<DATA, WEIGHT> {
+    private Object[] data;
+    private Object[] weights;
+    private final Map<DATA, Integer> positions;
+    private int size;
+
+    public IndexedMinHeap() {
+        this(16);
+    }
+
+    public IndexedMinHeap(int capacity) {
+        int initial = Math.max(capacity, 1);
+        this.data = new Object[initial];
+        this.weights = new Object[initial];
+        this.positions = new HashMap<>(initial * 2);
+        this.size = 0;
+    }
+
+
+    /**
+     * Adds an element to the queue.
+     *
+     * @param element the element to add.
+     * @param weight  the priority of the element.
+     * @throws IllegalArgumentException if the element is already queued.
+     */
+    @Override
+    public void enqueue(DATA element, WEIGHT weight) {
+        if (positions.containsKey(element)) {
+            throw new IllegalArgumentException("Element is already in the heap!");
+        }
+        if (size == data.length) {
+            grow();
+        }
+
+        data[size] = element;
+        weights[size] = weight;
+        positions.put(element, size);
+        reHeapUp(size);
+        size++;
+    }
+
+
+    /**
+     * Removes and returns the element with the lowest weight.
+     *
+     * @return the element with the lowest weight.
+     * @throws IllegalArgumentException if the heap is empty.
+     */
+    @Override
+    public DATA dequeue() {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Heap is empty");
+        }
+
+        DATA min = dataAt(0);
+        positions.remove(min);
+        size--;
+        if (size > 0) {
+            data[0] = data[size];
+            weights[0] = weights[size];
+            positions.put(dataAt(0), 0);
+            reHeapDown(0);
+        }
+        data[size] = null;
+        weights[size] = null;
+        return min;
+    }
+
+
+    /**
+     * Lowers the weight of a queued element and moves it up the heap.
+     *
+     * @param element the queued element.
+     * @param weight  the new weight, must not be greater than the current weight.
+     * @throws IllegalArgumentException if the element is not queued or the weight is greater.
+     */
+    public void decreaseKey(DATA element, WEIGHT weight) {
+        Integer idx = positions.get(element);
+        if (idx == null) {
+            throw new IllegalArgumentException("Element is not in the heap!");
+        }
+        if (weight.compareTo(weightAt(idx)) > 0) {
+            throw new IllegalArgumentException("New weight is greater than the current weight!");
+        }
+
+        weights[idx] = weight;
+        reHeapUp(idx);
+    }
+
+
+    /**
+     * Checks if the element is currently in the queue.
+     *
+     * @param element the element to look for.
+     * @return true if the element is queued, otherwise false.
+     */
+    public boolean contains(DATA element) {
+        return positions.containsKey(element);
+    }
+
+
+    /**
+     * Returns the current weight of a queued element.
+     *
+     * @param element the queued element.
+     * @return the weight, or null if the element is not queued.
+     */
+    public WEIGHT getWeight(DATA element) {
+        Integer idx = positions.get(element);
+        return idx == null ? null : weightAt(idx);
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+
+    private void reHeapUp(int idx) {
+        Object element = data[idx];
+        WEIGHT weight = weightAt(idx);
+
+        while (idx > 0) {
+            int parent = (idx - 1) / 2;
+            if (weight.compareTo(weightAt(parent)) >= 0) {
+                break;
+            }
+            move(parent, idx);
+            idx = parent;
+        }
+        place(element, weight, idx);
+    }
+
+
+    private void reHeapDown(int idx) {
+        Object element = data[idx];
+        WEIGHT weight = weightAt(idx);
+
+        while (2 * idx + 1 < size) {
+            int smallest = 2 * idx + 1;
+            int right = smallest + 1;
+            if (right < size && weightAt(right).compareTo(weightAt(smallest)) < 0) {
+                smallest = right;
+            }
+            if (weightAt(smallest).compareTo(weight) >= 0) {
+                break;
+            }
+            move(smallest, idx);
+            idx = smallest;
+        }
+        place(element, weight, idx);
+    }
+
+
+    private void move(int from, int to) {
+        data[to] = data[from];
+        weights[to] = weights[from];
+        positions.put(dataAt(to), to);
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private void place(Object element, WEIGHT weight, int idx) {
+        data[idx] = element;
+        weights[idx] = weight;
+        positions.put((DATA) element, idx);
+    }
+
+
+    private void grow() {
+        Object[] newData = new Object[data.length * 2];
+        Object[] newWeights = new Object[weights.length * 2];
+        System.arraycopy(data, 0, newData, 0, size);
+        System.arraycopy(weights, 0, newWeights, 0, size);
+        data = newData;
+        weights = newWeights;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private DATA dataAt(int idx) {
+        return (DATA) data[idx];
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private WEIGHT weightAt(int idx) {
+        return (WEIGHT) weights[idx];
+    }
+}
@@ -43,12 +43,9 @@ public class MinHeap<T extends Comparable<? super T>> implements MinHeapInterfac
         if (parent == -1) {
             return;
         }
-        if (storage[idx].compareTo(storage[parent(idx)]) < 0) {
-            if (idx <= 0 && storage[idx].compareTo(storage[parent(idx)]) <= 0) {
-
-                swap(idx, parent);
-                reHeapUp(parent);
-            }
+        if (storage[idx].compareTo(storage[parent]) < 0) {
+            swap(idx, parent);
+            reHeapUp(parent);
         }
     }
 
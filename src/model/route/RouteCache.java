@@ -0,0 +1,309 @@
+package model.route;
+
+import model.dijkstra.Dijkstra;
+import model.dijkstra.PathResult;
+import model.graph.Edge;
+import model.graph.Graph;
+import model.graph.GraphChangeListener;
+import model.graph.Vertex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * A least recently used cache of route results on a mutable {@link Graph}, keyed on the
+ * start and end vertex. The cache is bounded both in number of routes and in the total
+ * number of vertices stored in them, the least recently used routes are evicted first.
+ * <p>
+ * Cached routes are dropped when the graph changes under them:
+ * <ul>
+ * <li>a removed vertex, or a vertex whose bandwidth changes, drops the routes passing through it,</li>
+ * <li>a removed edge drops the routes that use it,</li>
+ * <li>an added edge drops the routes through its end points, and the routes the new edge could
+ * make lighter. A route from s to t is kept if the straight line lower bound of s to the edge,
+ * plus the edge, plus the edge to t, is not lower than the cached weight.</li>
+ * </ul>
+ * An index from every vertex to the routes through it makes the first case cost only the
+ * routes affected. All methods are synchronized so the cache can be shared between threads.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public final class RouteCache<T> implements GraphChangeListener<T> {
+    private final Graph<T> graph;
+    private final int maxRoutes;
+    private final long maxVertices;
+    private final LinkedHashMap<Key<T>, PathResult<T>> routes;
+    private final Map<T, Set<Key<T>>> routesByVertex;
+    private double minWeightPerDistance;
+    private long storedVertices;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Creates a cache and registers it on the graph.
+     *
+     * @param graph       the graph the routes are calculated on.
+     * @param maxRoutes   the largest number of cached routes.
+     * @param maxVertices the largest total number of vertices in the cached routes.
+     */
+    public RouteCache(Graph<T> graph, int maxRoutes, long maxVertices) {
+        if (maxRoutes <= 0 || maxVertices <= 0) {
+            throw new IllegalArgumentException("The cache must hold at least one route!");
+        }
+        this.graph = graph;
+        this.maxRoutes = maxRoutes;
+        this.maxVertices = maxVertices;
+        this.routes = new LinkedHashMap<>(16, 0.75f, true);
+        this.routesByVertex = new HashMap<>();
+        this.minWeightPerDistance = Double.POSITIVE_INFINITY;
+        for (Edge<T> edge : graph.getAllEdges()) {
+            updateMinWeightPerDistance(edge);
+        }
+        graph.addChangeListener(this);
+    }
+
+
+    /**
+     * Returns the cached route between two vertices, or calculates and caches it.
+     * Routes that cannot be found are not cached, since an added edge could connect them.
+     *
+     * @param from the vertex where the path starts.
+     * @param to   the vertex which the path should reach.
+     * @return the lowest weight path, empty if the end vertex cannot be reached.
+     */
+    public synchronized PathResult<T> route(Vertex<T> from, Vertex<T> to) {
+        Key<T> key = new Key<>(from.getInfo(), to.getInfo());
+        PathResult<T> cached = routes.get(key);
+        if (cached != null) {
+            hits++;
+            return cached;
+        }
+
+        misses++;
+        PathResult<T> path = new Dijkstra<T>().getLowWeightPath(graph, from, to);
+        if (path.numberOfHops() > 0) {
+            put(key, path);
+        }
+        return path;
+    }
+
+
+    /**
+     * Drops every cached route.
+     */
+    public synchronized void clear() {
+        for (Key<T> key : new ArrayList<>(routes.keySet())) {
+            remove(key);
+        }
+    }
+
+
+    public synchronized int size() {
+        return routes.size();
+    }
+
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+
+    @Override
+    public synchronized void edgeAdded(Vertex<T> from, Vertex<T> to) {
+        for (Edge<T> edge : graph.getEdges(from.getInfo())) {
+            if (edge.getTo().getInfo().equals(to.getInfo())) {
+                updateMinWeightPerDistance(edge);
+            }
+        }
+        for (Edge<T> edge : graph.getEdges(to.getInfo())) {
+            if (edge.getTo().getInfo().equals(from.getInfo())) {
+                updateMinWeightPerDistance(edge);
+            }
+        }
+
+        invalidateThrough(from);
+        invalidateThrough(to);
+
+        List<Key<T>> improvable = new ArrayList<>();
+        for (Map.Entry<Key<T>, PathResult<T>> entry : routes.entrySet()) {
+            if (canImprove(entry.getValue(), from, to) || canImprove(entry.getValue(), to, from)) {
+                improvable.add(entry.getKey());
+            }
+        }
+        for (Key<T> key : improvable) {
+            remove(key);
+            invalidations++;
+        }
+    }
+
+
+    @Override
+    public synchronized void edgeRemoved(Vertex<T> from, Vertex<T> to) {
+        Set<Key<T>> keys = routesByVertex.get(from.getInfo());
+        if (keys == null) {
+            return;
+        }
+        // Read through the entries, a get would reorder the least recently used routes.
+        List<Key<T>> broken = new ArrayList<>();
+        for (Map.Entry<Key<T>, PathResult<T>> entry : routes.entrySet()) {
+            if (keys.contains(entry.getKey()) && uses(entry.getValue(), from, to)) {
+                broken.add(entry.getKey());
+            }
+        }
+        for (Key<T> key : broken) {
+            remove(key);
+            invalidations++;
+        }
+    }
+
+
+    @Override
+    public synchronized void vertexRemoved(Vertex<T> vertex) {
+        invalidateThrough(vertex);
+    }
+
+
+    @Override
+    public synchronized void bandwidthChanged(Vertex<T> vertex) {
+        invalidateThrough(vertex);
+    }
+
+
+    private void put(Key<T> key, PathResult<T> path) {
+        routes.put(key, path);
+        storedVertices += path.getVertices().size();
+        for (Vertex<T> vertex : path.getVertices()) {
+            routesByVertex.computeIfAbsent(vertex.getInfo(), info -> new HashSet<>()).add(key);
+            vertex.addChangeListener(this);
+        }
+
+        // The map is in access order, so the first entry is the least recently used.
+        while (routes.size() > 1 && (routes.size() > maxRoutes || storedVertices > maxVertices)) {
+            remove(routes.keySet().iterator().next());
+            evictions++;
+        }
+    }
+
+
+    private void remove(Key<T> key) {
+        PathResult<T> path = routes.remove(key);
+        if (path == null) {
+            return;
+        }
+        storedVertices -= path.getVertices().size();
+        for (Vertex<T> vertex : path.getVertices()) {
+            Set<Key<T>> keys = routesByVertex.get(vertex.getInfo());
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    routesByVertex.remove(vertex.getInfo());
+                    vertex.removeChangeListener(this);
+                }
+            }
+        }
+    }
+
+
+    private void invalidateThrough(Vertex<T> vertex) {
+        Set<Key<T>> keys = routesByVertex.get(vertex.getInfo());
+        if (keys == null) {
+            return;
+        }
+        for (Key<T> key : new ArrayList<>(keys)) {
+            remove(key);
+            invalidations++;
+        }
+    }
+
+
+    // Whether a route steps between two vertices in either direction.
+    private static <T> boolean uses(PathResult<T> path, Vertex<T> a, Vertex<T> b) {
+        List<Vertex<T>> vertices = path.getVertices();
+        for (int i = 1; i < vertices.size(); i++) {
+            T previous = vertices.get(i - 1).getInfo();
+            T current = vertices.get(i).getInfo();
+            if ((previous.equals(a.getInfo()) && current.equals(b.getInfo()))
+                    || (previous.equals(b.getInfo()) && current.equals(a.getInfo()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    // Whether a path using the new edge a -> b could be lighter than the cached route.
+    private boolean canImprove(PathResult<T> path, Vertex<T> a, Vertex<T> b) {
+        Vertex<T> start = path.getVertices().get(0);
+        Vertex<T> end = path.getVertices().get(path.getVertices().size() - 1);
+        double edgeWeight = Double.POSITIVE_INFINITY;
+        for (Edge<T> edge : graph.getEdges(a.getInfo())) {
+            if (edge.getTo().getInfo().equals(b.getInfo())) {
+                edgeWeight = Math.min(edgeWeight, edge.getWeight());
+            }
+        }
+        double bound = minWeightPerDistance * (distance(start, a) + distance(b, end)) + edgeWeight;
+        return bound < path.getTotalWeight();
+    }
+
+
+    private void updateMinWeightPerDistance(Edge<T> edge) {
+        if (edge.getDistance() > 0) {
+            minWeightPerDistance = Math.min(minWeightPerDistance, edge.getWeight() / edge.getDistance());
+        }
+    }
+
+
+    private static <T> double distance(Vertex<T> a, Vertex<T> b) {
+        double dX = a.getX() - b.getX();
+        double dY = a.getY() - b.getY();
+        return Math.sqrt(dX * dX + dY * dY);
+    }
+
+
+    // The start and end vertex of a cached route.
+    private static class Key<T> {
+        private final T from;
+        private final T to;
+
+        Key(T from, T to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key<?> key)) {
+                return false;
+            }
+            return from.equals(key.from) && to.equals(key.to);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * from.hashCode() + to.hashCode();
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package model.route;
+
+import model.alt.AltSearch;
+import model.alt.Landmarks;
+import model.ch.ContractionHierarchy;
+import model.dijkstra.AStar;
+import model.dijkstra.BidirectionalDijkstra;
+import model.dijkstra.Dijkstra;
+import model.dijkstra.PathResult;
+import model.graph.CsrGraph;
+import model.graph.Vertex;
+import model.hublabel.HubLabels;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Answers route queries on a {@link CsrGraph} snapshot with whichever search engine is expected
+ * to be fastest for the query, so callers do not have to choose one.
+ * <p>
+ * A query is classed as short, medium or long from the straight line distance between its end
+ * points relative to the diagonal of the graph. Each class has an order of preference over the
+ * engines, measured on the 10k mockup graph: landmark (ALT) searches win on short and medium
+ * queries, the contraction hierarchy on long ones, and plain Dijkstra beats A* and the
+ * bidirectional search when no preprocessed data is given. The first engine in the order with
+ * its data available is used.
+ * <p>
+ * Every query records its latency in a histogram per engine and per class. Once every available
+ * engine has {@link #MIN_SAMPLES} queries in a class, the engine with the lowest median latency
+ * in that class is chosen instead, so the choices follow the live data. To keep the data of the
+ * other engines current, every {@link #EXPLORE_INTERVAL}th query of a class goes to the engine
+ * with the fewest samples in it. All methods are thread safe.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class RoutePlanner<T> {
+    public static final int MIN_SAMPLES = 32;
+    public static final int EXPLORE_INTERVAL = 64;
+    private static final double SHORT_SPAN = 0.05;
+    private static final double LONG_SPAN = 0.25;
+
+    /**
+     * The search engines the planner can dispatch to. HUB_LABELS only gives path weights.
+     */
+    public enum Engine {
+        DIJKSTRA,
+        A_STAR,
+        BIDIRECTIONAL,
+        ALT,
+        CONTRACTION_HIERARCHY,
+        HUB_LABELS
+    }
+
+    /**
+     * The straight line span of a query relative to the diagonal of the graph.
+     */
+    public enum Span {
+        SHORT(Engine.ALT, Engine.DIJKSTRA, Engine.A_STAR, Engine.CONTRACTION_HIERARCHY, Engine.BIDIRECTIONAL),
+        MEDIUM(Engine.ALT, Engine.CONTRACTION_HIERARCHY, Engine.A_STAR, Engine.DIJKSTRA, Engine.BIDIRECTIONAL),
+        LONG(Engine.CONTRACTION_HIERARCHY, Engine.ALT, Engine.DIJKSTRA, Engine.A_STAR, Engine.BIDIRECTIONAL);
+
+        private final Engine[] preference;
+
+        Span(Engine... preference) {
+            this.preference = preference;
+        }
+    }
+
+    private final CsrGraph<T> graph;
+    private final double diagonal;
+    private volatile Landmarks<T> landmarks;
+    private volatile ContractionHierarchy<T> contractionHierarchy;
+    private volatile HubLabels<T> hubLabels;
+    private final Map<Engine, LatencyHistogram> histograms;
+    private final Map<Span, Map<Engine, LatencyHistogram>> histogramsBySpan;
+    private final AtomicLongArray queriesBySpan;
+
+    /**
+     * Creates a planner with only the engines that need no preprocessing.
+     *
+     * @param graph the snapshot to route on.
+     */
+    public RoutePlanner(CsrGraph<T> graph) {
+        this.graph = graph;
+        this.diagonal = diagonalOf(graph);
+        this.histograms = new EnumMap<>(Engine.class);
+        this.histogramsBySpan = new EnumMap<>(Span.class);
+        for (Engine engine : Engine.values()) {
+            histograms.put(engine, new LatencyHistogram());
+        }
+        for (Span span : Span.values()) {
+            Map<Engine, LatencyHistogram> bySpan = new EnumMap<>(Engine.class);
+            for (Engine engine : Engine.values()) {
+                bySpan.put(engine, new LatencyHistogram());
+            }
+            histogramsBySpan.put(span, bySpan);
+        }
+        this.queriesBySpan = new AtomicLongArray(Span.values().length);
+    }
+
+
+    /**
+     * Makes the ALT engine available.
+     *
+     * @param landmarks landmark tables built on the same snapshot, or null to remove them.
+     */
+    public void setLandmarks(Landmarks<T> landmarks) {
+        checkGraph(landmarks == null ? null : landmarks.getGraph());
+        this.landmarks = landmarks;
+    }
+
+
+    /**
+     * Makes the contraction hierarchy engine available.
+     *
+     * @param contractionHierarchy a hierarchy built on the same snapshot, or null to remove it.
+     */
+    public void setContractionHierarchy(ContractionHierarchy<T> contractionHierarchy) {
+        checkGraph(contractionHierarchy == null ? null : contractionHierarchy.getGraph());
+        this.contractionHierarchy = contractionHierarchy;
+    }
+
+
+    /**
+     * Makes hub labels available for path weight queries.
+     *
+     * @param hubLabels labels built on the same snapshot, or null to remove them.
+     */
+    public void setHubLabels(HubLabels<T> hubLabels) {
+        checkGraph(hubLabels == null ? null : hubLabels.getGraph());
+        this.hubLabels = hubLabels;
+    }
+
+
+    /**
+     * Calculates the lowest weight path with the engine chosen for the query.
+     *
+     * @param from the vertex where the path starts.
+     * @param to   the vertex which the path should reach.
+     * @return the path, empty if the end vertex cannot be reached.
+     */
+    public PathResult<T> route(Vertex<T> from, Vertex<T> to) {
+        // Read once, so a setter called meanwhile cannot remove the chosen engine.
+        Landmarks<T> currentLandmarks = landmarks;
+        ContractionHierarchy<T> hierarchy = contractionHierarchy;
+        Span span = spanOf(from, to);
+        boolean explore = queriesBySpan.incrementAndGet(span.ordinal()) % EXPLORE_INTERVAL == 0;
+        Engine engine = choose(span, explore, currentLandmarks != null, hierarchy != null);
+
+        long start = System.nanoTime();
+        PathResult<T> path = switch (engine) {
+            case DIJKSTRA -> new Dijkstra<T>().getLowWeightPath(graph, from, to);
+            case A_STAR -> new AStar<T>().getLowWeightPath(graph, from, to);
+            case BIDIRECTIONAL -> new BidirectionalDijkstra<T>().getLowWeightPath(graph, from, to);
+            case ALT -> new AltSearch<>(currentLandmarks).getLowWeightPath(from, to);
+            case CONTRACTION_HIERARCHY -> hierarchy.getLowWeightPath(from, to);
+            case HUB_LABELS -> throw new IllegalStateException("Hub labels do not give paths!");
+        };
+        record(engine, span, System.nanoTime() - start);
+        return path;
+    }
+
+
+    /**
+     * Calculates the lowest path weight without the path. Hub labels are used when available,
+     * then the contraction hierarchy, otherwise a path is searched with {@link #route}.
+     *
+     * @param from the vertex where the path starts.
+     * @param to   the vertex which the path should reach.
+     * @return the path weight, positive infinity if the end vertex cannot be reached.
+     */
+    public double getLowestWeight(Vertex<T> from, Vertex<T> to) {
+        HubLabels<T> labels = hubLabels;
+        ContractionHierarchy<T> hierarchy = contractionHierarchy;
+        if (labels == null && hierarchy == null) {
+            return route(from, to).getTotalWeight();
+        }
+
+        int start = graph.getId(from.getInfo());
+        int end = graph.getId(to.getInfo());
+        if (start == -1 || end == -1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        Span span = spanOf(from, to);
+        long startTime = System.nanoTime();
+        double weight = labels != null ? labels.getLowestWeight(start, end) : hierarchy.getLowestWeight(start, end);
+        record(labels != null ? Engine.HUB_LABELS : Engine.CONTRACTION_HIERARCHY, span, System.nanoTime() - startTime);
+        return weight;
+    }
+
+
+    /**
+     * The engine the next path query between two vertices would use.
+     *
+     * @param from the vertex where the path starts.
+     * @param to   the vertex which the path should reach.
+     * @return the chosen engine.
+     */
+    public Engine chooseEngine(Vertex<T> from, Vertex<T> to) {
+        return choose(spanOf(from, to), false, landmarks != null, contractionHierarchy != null);
+    }
+
+
+    /**
+     * Classes a query by the straight line distance between its end points.
+     *
+     * @param from the vertex where the path starts.
+     * @param to   the vertex which the path should reach.
+     * @return the span of the query.
+     */
+    public Span spanOf(Vertex<T> from, Vertex<T> to) {
+        double dX = from.getX() - to.getX();
+        double dY = from.getY() - to.getY();
+        double fraction = diagonal > 0 ? Math.sqrt(dX * dX + dY * dY) / diagonal : 0.0;
+        if (fraction < SHORT_SPAN) {
+            return Span.SHORT;
+        }
+        return fraction < LONG_SPAN ? Span.MEDIUM : Span.LONG;
+    }
+
+
+    public LatencyHistogram getHistogram(Engine engine) {
+        return histograms.get(engine);
+    }
+
+
+    public LatencyHistogram getHistogram(Engine engine, Span span) {
+        return histogramsBySpan.get(span).get(engine);
+    }
+
+
+    public CsrGraph<T> getGraph() {
+        return graph;
+    }
+
+
+    /**
+     * Formats the histograms, one line per engine and span with recorded queries, to audit the
+     * choices. Nothing is printed, the caller decides where the report goes.
+     *
+     * @return the latency report.
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        for (Span span : Span.values()) {
+            for (Engine engine : Engine.values()) {
+                LatencyHistogram histogram = getHistogram(engine, span);
+                if (histogram.getCount() > 0) {
+                    sb.append(span).append(' ').append(engine).append(": ").append(histogram).append('\n');
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+
+    private Engine choose(Span span, boolean explore, boolean hasLandmarks, boolean hasHierarchy) {
+        List<Engine> available = new ArrayList<>();
+        for (Engine engine : span.preference) {
+            if ((engine != Engine.ALT || hasLandmarks) && (engine != Engine.CONTRACTION_HIERARCHY || hasHierarchy)) {
+                available.add(engine);
+            }
+        }
+
+        Engine leastSampled = available.get(0);
+        for (Engine engine : available) {
+            if (getHistogram(engine, span).getCount() < getHistogram(leastSampled, span).getCount()) {
+                leastSampled = engine;
+            }
+        }
+        if (explore) {
+            return leastSampled;
+        }
+        if (getHistogram(leastSampled, span).getCount() < MIN_SAMPLES) {
+            return available.get(0);
+        }
+
+        // Enough live data for every engine, the lowest median wins and ties keep the preference order.
+        Engine fastest = available.get(0);
+        for (Engine engine : available) {
+            if (getHistogram(engine, span).getPercentile(0.5) < getHistogram(fastest, span).getPercentile(0.5)) {
+                fastest = engine;
+            }
+        }
+        return fastest;
+    }
+
+
+    private void record(Engine engine, Span span, long nanos) {
+        histograms.get(engine).record(nanos);
+        histogramsBySpan.get(span).get(engine).record(nanos);
+    }
+
+
+    private void checkGraph(CsrGraph<T> other) {
+        if (other != null && other != graph) {
+            throw new IllegalArgumentException("The preprocessed data must be built on the planner's snapshot!");
+        }
+    }
+
+
+    private static <T> double diagonalOf(CsrGraph<T> graph) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < graph.numberOfVertices(); v++) {
+            minX = Math.min(minX, graph.getX(v));
+            minY = Math.min(minY, graph.getY(v));
+            maxX = Math.max(maxX, graph.getX(v));
+            maxY = Math.max(maxY, graph.getY(v));
+        }
+        return graph.numberOfVertices() == 0 ? 0.0 : Math.hypot(maxX - minX, maxY - minY);
+    }
+}
@@ -0,0 +1,36 @@
+package model.route;
+
+import model.graph.Vertex;
+
+
+/**
+ * A start and end vertex to find the lowest weight path between, one entry in a batch
+ * given to {@link RouteService#routeAll(java.util.List)}.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class RouteRequest<T> {
+    private final Vertex<T> from;
+    private final Vertex<T> to;
+
+    public RouteRequest(Vertex<T> from, Vertex<T> to) {
+        this.from = from;
+        this.to = to;
+    }
+
+
+    public Vertex<T> getFrom() {
+        return from;
+    }
+
+
+    public Vertex<T> getTo() {
+        return to;
+    }
+
+
+    @Override
+    public String toString() {
+        return from.getInfo() + " -> " + to.getInfo();
+    }
+}
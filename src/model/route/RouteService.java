@@ -0,0 +1,125 @@
+package model.route;
+
+import model.dijkstra.Dijkstra;
+import model.dijkstra.PathResult;
+import model.graph.CsrGraph;
+import model.graph.Vertex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * A thread safe route query service over an immutable {@link CsrGraph} snapshot.
+ * Queries are run on a bounded pool of worker threads and answered with futures, so a
+ * batch of routes is spread over the cores and callers never share search state.
+ * <p>
+ * Every query creates its own {@link Dijkstra}, and the distance and predecessor arrays
+ * come from the {@link model.dijkstra.SearchWorkspace} of the worker thread. The workers are
+ * long lived platform threads, so each workspace is allocated once and reused by every
+ * query that thread runs. The searches are CPU bound, so there are no more workers than
+ * processors by default.
+ *
+ * @param <T> the vertices unique identifier. The generic class of type T.
+ */
+public class RouteService<T> implements AutoCloseable {
+    private final CsrGraph<T> snapshot;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a service with one worker thread per available processor.
+     *
+     * @param snapshot the graph snapshot to route on.
+     */
+    public RouteService(CsrGraph<T> snapshot) {
+        this(snapshot, Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * Creates a service with a fixed number of worker threads.
+     *
+     * @param snapshot the graph snapshot to route on.
+     * @param threads  the number of worker threads.
+     */
+    public RouteService(CsrGraph<T> snapshot, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("At least one worker thread is needed!");
+        }
+        this.snapshot = snapshot;
+        this.executor = Executors.newFixedThreadPool(threads, workerFactory());
+    }
+
+
+    /**
+     * Queues a route query.
+     *
+     * @param from the vertex where the path starts.
+     * @param to   the vertex which the path should reach.
+     * @return a future with the path, empty if the end vertex cannot be reached.
+     */
+    public CompletableFuture<PathResult<T>> route(Vertex<T> from, Vertex<T> to) {
+        return CompletableFuture.supplyAsync(() -> new Dijkstra<T>().getLowWeightPath(snapshot, from, to), executor);
+    }
+
+
+    /**
+     * Queues a batch of route queries, they are answered in parallel.
+     *
+     * @param requests the start and end vertices of every route.
+     * @return one future per request, in the same order as the requests.
+     */
+    public List<CompletableFuture<PathResult<T>>> routeAll(List<RouteRequest<T>> requests) {
+        List<CompletableFuture<PathResult<T>>> futures = new ArrayList<>(requests.size());
+        for (RouteRequest<T> request : requests) {
+            futures.add(route(request.getFrom(), request.getTo()));
+        }
+        return futures;
+    }
+
+
+    /**
+     * Answers a batch of route queries and waits for all of them.
+     *
+     * @param requests the start and end vertices of every route.
+     * @return the paths in the same order as the requests.
+     */
+    public List<PathResult<T>> routeAllAndWait(List<RouteRequest<T>> requests) {
+        List<CompletableFuture<PathResult<T>>> futures = routeAll(requests);
+        List<PathResult<T>> paths = new ArrayList<>(futures.size());
+        for (CompletableFuture<PathResult<T>> future : futures) {
+            paths.add(future.join());
+        }
+        return paths;
+    }
+
+
+    public CsrGraph<T> getSnapshot() {
+        return snapshot;
+    }
+
+
+    /**
+     * Stops the worker threads, queries already queued are still answered.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+
+    // Daemon threads so an open service does not keep the application alive.
+    private static ThreadFactory workerFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "route-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,9 +1,10 @@
 package view;
 
-import model.dijkstra.Dijkstra;
+import model.dijkstra.PathResult;
 import model.graph.Graph;
 import model.graph.Vertex;
 import model.quadtree.Quadtree;
+import model.route.RouteCache;
 
 import javax.swing.*;
 
@@ -32,12 +33,14 @@ public class FunctionsPanel<T> extends JPanel {
     private String[] vertexNames;
     private JButton pathButton;
     private ActionListener highlightListener;
+    private RouteCache<T> routeCache;
 
 
     public FunctionsPanel(Graph<T> graph, MapGraphPanel<T> mapGraphPanel) {
         this.graph = graph;
         this.mapGraphPanel = mapGraphPanel;
         this.allVertices = graph.getAllVertices();
+        this.routeCache = new RouteCache<>(graph, 64, 10_000);
 
         // Programmatically add buttons and functionality to gui.
 
@@ -166,6 +169,7 @@ public class FunctionsPanel<T> extends JPanel {
 
     /**
      * Uses dijkstra to calculate the shortest path between two vertices.
+     * Pairs asked for again are answered from the route cache until the graph changes.
      */
     private void calculateShortestPath(Graph<T> graph) {
         String fromID = (String) cbbDijkstraFrom.getSelectedItem();
@@ -193,13 +197,12 @@ public class FunctionsPanel<T> extends JPanel {
             return;
         }
         try {
-            Dijkstra<T> dijkstra = new Dijkstra<>();
-            Graph<T> pathGraph = dijkstra.getLowWeightPathGraph(graph, start, finish);
+            PathResult<T> path = routeCache.route(start, finish);
 
-            if (pathGraph == null || pathGraph.getAllVertices().isEmpty()) {
+            if (path.numberOfHops() == 0) {
                 JOptionPane.showMessageDialog(null, "No path was found between the nodes.");
             } else {
-                mapGraphPanel.setDijkstraGraph(pathGraph);
+                mapGraphPanel.setDijkstraGraph(path.toGraph());
                 JOptionPane.showMessageDialog(null,
                         "Lowest weight path calculated successfully! Path is highlighted.");
             }
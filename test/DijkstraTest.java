@@ -0,0 +1,593 @@
+import model.alt.AltSearch;
+import model.alt.Landmarks;
+import model.ch.ContractionHierarchy;
+import model.delaunay.Delaunay;
+import model.dijkstra.AStar;
+import model.dijkstra.BidirectionalDijkstra;
+import model.dijkstra.DeltaStepping;
+import model.dijkstra.Dijkstra;
+import model.dijkstra.DistanceMatrix;
+import model.dijkstra.Isochrone;
+import model.dijkstra.PathResult;
+import model.dijkstra.SearchWorkspace;
+import model.dijkstra.ShortestPathTree;
+import model.dijkstra.WidestPath;
+import model.dijkstra.YenKShortestPaths;
+import model.graph.CsrGraph;
+import model.graph.Edge;
+import model.graph.Graph;
+import model.graph.JsonToVertex;
+import model.graph.Vertex;
+import model.hublabel.HubLabels;
+import model.mst.BottleneckTree;
+import model.quadtree.Quadtree;
+import model.route.RouteRequest;
+import model.route.RouteService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DijkstraTest {
+
+    private static Graph<String> dtGraph;
+    private static CsrGraph<String> csrGraph;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        Graph<String> graph = new Graph<>();
+        for (Vertex<String> v : JsonToVertex.readJson(false)) {
+            graph.addVertex(v);
+        }
+        dtGraph = new Delaunay<String>().triangulate(graph);
+        csrGraph = dtGraph.freeze();
+    }
+
+    // Sums the weight of the path, every edge is stored in both directions.
+    private double pathWeight(Graph<String> path) {
+        double total = 0;
+        for (Edge<String> edge : path.getAllEdges()) {
+            total += edge.getWeight();
+        }
+        return total / 2;
+    }
+
+    private Set<String> pathVertices(Graph<String> path) {
+        Set<String> names = new HashSet<>();
+        for (Vertex<String> v : path.getAllVertices()) {
+            names.add(v.getInfo());
+        }
+        return names;
+    }
+
+
+    @Test
+    public void testCsrMatchesGraph() {
+        List<Vertex<String>> vertices = dtGraph.getAllVertices();
+        Vertex<String> start = vertices.getFirst();
+
+        for (Vertex<String> end : vertices) {
+            if (end == start) {
+                continue;
+            }
+            Graph<String> expected = new Dijkstra<String>().getLowWeightPathGraph(dtGraph, start, end);
+            Graph<String> actual = new Dijkstra<String>().getLowWeightPathGraph(csrGraph, start, end);
+            assertEquals(pathVertices(expected), pathVertices(actual));
+        }
+    }
+
+
+    @Test
+    public void testAStarMatchesDijkstra() {
+        List<Vertex<String>> vertices = dtGraph.getAllVertices();
+
+        for (int i = 0; i < vertices.size(); i += 7) {
+            for (int j = 1; j < vertices.size(); j += 11) {
+                if (i == j) {
+                    continue;
+                }
+                Graph<String> expected = new Dijkstra<String>()
+                        .getLowWeightPathGraph(csrGraph, vertices.get(i), vertices.get(j));
+                Graph<String> actual = new AStar<String>()
+                        .getLowWeightPathGraph(csrGraph, vertices.get(i), vertices.get(j));
+                assertEquals(pathWeight(expected), pathWeight(actual), 1e-6);
+            }
+        }
+    }
+
+
+    @Test
+    public void testAStarSettlesFewerVertices() {
+        Vertex<String> malmo = dtGraph.getVertex("Malmö");
+        Vertex<String> kiruna = dtGraph.getVertex("Kiruna");
+
+        Dijkstra<String> dijkstra = new Dijkstra<>();
+        AStar<String> aStar = new AStar<>();
+        Graph<String> expected = dijkstra.getLowWeightPathGraph(csrGraph, malmo, kiruna);
+        Graph<String> actual = aStar.getLowWeightPathGraph(csrGraph, malmo, kiruna);
+
+        assertEquals(pathVertices(expected), pathVertices(actual));
+        assertTrue(aStar.getSettledCount() <= dijkstra.getSettledCount());
+
+        // The mockup's bandwidth ratios make the straight line bound close to zero, with equal
+        // bandwidths it is tight and clearly prunes the search.
+        Graph<String> equalBandwidth = new Graph<>();
+        for (Vertex<String> v : dtGraph.getAllVertices()) {
+            equalBandwidth.addVertex(new Vertex<>(v.getX(), v.getY(), 100, v.getInfo()));
+        }
+        CsrGraph<String> symmetric = new Delaunay<String>().triangulate(equalBandwidth).freeze();
+        Graph<String> symmetricExpected = dijkstra.getLowWeightPathGraph(symmetric, malmo, kiruna);
+        Graph<String> symmetricActual = aStar.getLowWeightPathGraph(symmetric, malmo, kiruna);
+        assertEquals(pathVertices(symmetricExpected), pathVertices(symmetricActual));
+        assertTrue(aStar.getSettledCount() < dijkstra.getSettledCount());
+    }
+
+
+    @Test
+    public void testBidirectionalMatchesDijkstra() {
+        List<Vertex<String>> vertices = dtGraph.getAllVertices();
+
+        for (int i = 0; i < vertices.size(); i += 5) {
+            for (int j = 2; j < vertices.size(); j += 9) {
+                if (i == j) {
+                    continue;
+                }
+                Graph<String> expected = new Dijkstra<String>()
+                        .getLowWeightPathGraph(csrGraph, vertices.get(i), vertices.get(j));
+                Graph<String> actual = new BidirectionalDijkstra<String>()
+                        .getLowWeightPathGraph(csrGraph, vertices.get(i), vertices.get(j));
+                assertEquals(pathVertices(expected), pathVertices(actual));
+                assertEquals(pathWeight(expected), pathWeight(actual), 1e-6);
+            }
+        }
+    }
+
+
+    @Test
+    public void testAltMatchesDijkstra() {
+        List<Vertex<String>> vertices = dtGraph.getAllVertices();
+
+        for (Landmarks.Selection selection : Landmarks.Selection.values()) {
+            AltSearch<String> alt = new AltSearch<>(Landmarks.build(csrGraph, 4, selection));
+            for (int i = 0; i < vertices.size(); i += 6) {
+                for (int j = 3; j < vertices.size(); j += 8) {
+                    if (i == j) {
+                        continue;
+                    }
+                    Graph<String> expected = new Dijkstra<String>()
+                            .getLowWeightPathGraph(csrGraph, vertices.get(i), vertices.get(j));
+                    Graph<String> actual = alt.getLowWeightPathGraph(vertices.get(i), vertices.get(j));
+                    assertEquals(pathWeight(expected), pathWeight(actual), 1e-6);
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testLandmarksSaveAndLoad(@TempDir File dir) throws Exception {
+        Landmarks<String> landmarks = Landmarks.build(csrGraph, 4, Landmarks.Selection.FARTHEST);
+        File file = new File(dir, "landmarks.bin");
+        landmarks.save(file);
+
+        Landmarks<String> loaded = Landmarks.load(csrGraph, file);
+        assertEquals(landmarks.numberOfLandmarks(), loaded.numberOfLandmarks());
+        for (int v = 0; v < csrGraph.numberOfVertices(); v++) {
+            assertEquals(landmarks.lowerBound(v, 0), loaded.lowerBound(v, 0));
+        }
+
+        Graph<String> other = new Graph<>();
+        other.addVertex(0, 0, "A");
+        assertThrows(IOException.class, () -> Landmarks.load(other.freeze(), file));
+    }
+
+
+    @Test
+    public void testHubLabelsMatchDijkstra(@TempDir File dir) throws Exception {
+        HubLabels<String> sequential = HubLabels.build(csrGraph, 1);
+        HubLabels<String> parallel = HubLabels.build(csrGraph, 4);
+        File file = new File(dir, "hublabels.bin");
+        parallel.save(file);
+        HubLabels<String> loaded = HubLabels.loadOrBuild(csrGraph, file);
+
+        for (int start = 0; start < csrGraph.numberOfVertices(); start++) {
+            double[] expected = new Dijkstra<String>().getLowestWeights(csrGraph, start);
+            for (int end = 0; end < csrGraph.numberOfVertices(); end++) {
+                assertEquals(expected[end], sequential.getLowestWeight(start, end), 1e-6);
+                assertEquals(expected[end], parallel.getLowestWeight(start, end), 1e-6);
+                assertEquals(parallel.getLowestWeight(start, end), loaded.getLowestWeight(start, end));
+            }
+        }
+        assertEquals(parallel.numberOfEntries(), loaded.numberOfEntries());
+
+        Graph<String> other = new Graph<>();
+        other.addVertex(0, 0, "A");
+        assertThrows(IOException.class, () -> HubLabels.load(other.freeze(), file));
+    }
+
+
+    @Test
+    public void testContractionHierarchyMatchesDijkstra() {
+        ContractionHierarchy<String> ch = new ContractionHierarchy<>(csrGraph);
+
+        for (int start = 0; start < csrGraph.numberOfVertices(); start += 3) {
+            double[] expected = new Dijkstra<String>().getLowestWeights(csrGraph, start);
+            for (int end = 0; end < csrGraph.numberOfVertices(); end++) {
+                if (start == end) {
+                    continue;
+                }
+                assertEquals(expected[end], ch.getLowestWeight(start, end), 1e-6);
+
+                // The unpacked path only uses original edges and adds up to the same weight.
+                int[] path = ch.findPath(start, end);
+                assertEquals(start, path[0]);
+                assertEquals(end, path[path.length - 1]);
+                double total = 0;
+                for (int i = 1; i < path.length; i++) {
+                    double weight = -1;
+                    for (int e = csrGraph.edgeStart(path[i - 1]); e < csrGraph.edgeEnd(path[i - 1]); e++) {
+                        if (csrGraph.target(e) == path[i]) {
+                            weight = csrGraph.weight(e);
+                        }
+                    }
+                    assertTrue(weight >= 0);
+                    total += weight;
+                }
+                assertEquals(expected[end], total, 1e-6);
+            }
+        }
+
+        Vertex<String> first = csrGraph.getVertex(0);
+        Vertex<String> last = csrGraph.getVertex(csrGraph.numberOfVertices() - 1);
+        assertEquals(pathVertices(new Dijkstra<String>().getLowWeightPathGraph(csrGraph, first, last)).size(),
+                pathVertices(ch.getLowWeightPathGraph(first, last)).size());
+    }
+
+
+    @Test
+    public void testContractionHierarchyWeightTable() {
+        ContractionHierarchy<String> ch = new ContractionHierarchy<>(csrGraph);
+        int[] sources = {0, 5, 17, 17, 42, -1};
+        int[] targets = new int[csrGraph.numberOfVertices()];
+        for (int v = 0; v < targets.length; v++) {
+            targets[v] = v;
+        }
+
+        double[] table = ch.getWeightTable(sources, targets, 3);
+        for (int i = 0; i < sources.length; i++) {
+            double[] expected = sources[i] == -1 ? null : new Dijkstra<String>().getLowestWeights(csrGraph, sources[i]);
+            for (int j = 0; j < targets.length; j++) {
+                double weight = table[i * targets.length + j];
+                assertEquals(expected == null ? Double.POSITIVE_INFINITY : expected[j], weight, 1e-6);
+            }
+        }
+        // The second call runs on the same workers and their reused query state.
+        assertArrayEquals(table, ch.getWeightTable(sources, targets, 3));
+
+        List<Vertex<String>> vertices = dtGraph.getAllVertices();
+        double[] small = ch.getWeightTable(vertices.subList(0, 3), vertices.subList(3, 5));
+        assertEquals(6, small.length);
+        assertEquals(ch.getLowestWeight(csrGraph.getId(vertices.get(2).getInfo()), csrGraph.getId(vertices.get(4).getInfo())),
+                small[2 * 2 + 1], 1e-6);
+    }
+
+
+    @Test
+    public void testSearchWorkspaceReuse() {
+        SearchWorkspace workspace = new SearchWorkspace(4);
+        workspace.begin();
+        workspace.set(2, 1.5, 1);
+        assertTrue(workspace.isReached(2));
+        assertEquals(1.5, workspace.getWeight(2));
+        assertEquals(1, workspace.getPrevious(2));
+
+        // A new query sees nothing from the last one.
+        workspace.begin();
+        assertFalse(workspace.isReached(2));
+        assertEquals(Double.POSITIVE_INFINITY, workspace.getWeight(2));
+        assertEquals(-1, workspace.getPrevious(2));
+
+        // Repeated queries on the same thread give the same path as the first one.
+        Vertex<String> first = csrGraph.getVertex(0);
+        Vertex<String> last = csrGraph.getVertex(csrGraph.numberOfVertices() - 1);
+        Dijkstra<String> dijkstra = new Dijkstra<>();
+        Set<String> expected = pathVertices(dijkstra.getLowWeightPathGraph(csrGraph, first, last));
+        for (int i = 0; i < 5; i++) {
+            dijkstra.getLowWeightPathGraph(csrGraph, csrGraph.getVertex(i), csrGraph.getVertex(i + 1));
+            assertEquals(expected, pathVertices(dijkstra.getLowWeightPathGraph(csrGraph, first, last)));
+        }
+    }
+
+
+    @Test
+    public void testPathResult() {
+        List<Vertex<String>> vertices = dtGraph.getAllVertices();
+        Vertex<String> start = vertices.get(0);
+        Vertex<String> end = vertices.get(vertices.size() - 1);
+
+        PathResult<String> fromGraph = new Dijkstra<String>().getLowWeightPath(dtGraph, start, end);
+        PathResult<String> fromCsr = new Dijkstra<String>().getLowWeightPath(csrGraph, start, end);
+        PathResult<String> fromBidirectional = new BidirectionalDijkstra<String>().getLowWeightPath(csrGraph, start, end);
+        assertEquals(fromGraph.getVertices(), fromCsr.getVertices());
+        assertEquals(fromGraph.getVertices(), fromBidirectional.getVertices());
+        assertEquals(fromGraph.getTotalWeight(), fromCsr.getTotalWeight(), 1e-6);
+        assertEquals(start, fromCsr.getVertices().get(0));
+        assertEquals(end, fromCsr.getVertices().get(fromCsr.getVertices().size() - 1));
+
+        // Every hop weight is the weight of the edge between the two vertices.
+        double total = 0;
+        for (int i = 0; i < fromCsr.numberOfHops(); i++) {
+            Vertex<String> from = fromCsr.getVertices().get(i);
+            Vertex<String> to = fromCsr.getVertices().get(i + 1);
+            double weight = -1;
+            for (Edge<String> edge : dtGraph.getEdges(from.getInfo())) {
+                if (edge.getTo().getInfo().equals(to.getInfo())) {
+                    weight = edge.getWeight();
+                }
+            }
+            assertEquals(weight, fromCsr.getHopWeight(i), 1e-6);
+            assertEquals(weight, fromBidirectional.getHopWeight(i), 1e-6);
+            total += weight;
+        }
+        assertEquals(total, fromCsr.getTotalWeight(), 1e-6);
+        assertEquals(pathVertices(new Dijkstra<String>().getLowWeightPathGraph(csrGraph, start, end)),
+                pathVertices(fromCsr.toGraph()));
+
+        Graph<String> other = new Graph<>();
+        other.addVertex(0, 0, "A");
+        other.addVertex(1, 1, "B");
+        PathResult<String> unreachable = new Dijkstra<String>()
+                .getLowWeightPath(other.freeze(), other.getVertex("A"), other.getVertex("B"));
+        assertTrue(unreachable.isEmpty());
+        assertEquals(Double.POSITIVE_INFINITY, unreachable.getTotalWeight());
+    }
+
+
+    @Test
+    public void testShortestPathTree() {
+        List<Vertex<String>> vertices = dtGraph.getAllVertices();
+        Vertex<String> source = vertices.get(0);
+        List<Vertex<String>> targets = List.of(vertices.get(3), vertices.get(10), vertices.get(20));
+
+        Dijkstra<String> dijkstra = new Dijkstra<>();
+        ShortestPathTree<String> tree = dijkstra.getShortestPathTree(csrGraph, source, targets);
+        for (Vertex<String> target : targets) {
+            PathResult<String> expected = new Dijkstra<String>().getLowWeightPath(csrGraph, source, target);
+            assertTrue(tree.contains(target));
+            assertEquals(expected.getTotalWeight(), tree.getWeight(target), 1e-6);
+            assertEquals(expected.getVertices(), tree.getPath(target).getVertices());
+        }
+
+        ShortestPathTree<String> full = dijkstra.getShortestPathTree(csrGraph, source, null);
+        assertEquals(csrGraph.numberOfVertices(), full.getSettledCount());
+        assertTrue(tree.getSettledCount() <= full.getSettledCount());
+
+        // A later search on the same thread does not change the trees.
+        dijkstra.getLowWeightPath(csrGraph, vertices.get(5), vertices.get(6));
+        for (Vertex<String> vertex : vertices) {
+            assertEquals(new Dijkstra<String>().getLowWeightPath(csrGraph, source, vertex).getTotalWeight(),
+                    full.getWeight(vertex), 1e-6);
+        }
+    }
+
+
+    @Test
+    public void testReachableWithinBudget() {
+        Vertex<String> source = dtGraph.getAllVertices().get(0);
+        double[] expected = new Dijkstra<String>().getLowestWeights(csrGraph, csrGraph.getId(source.getInfo()));
+        double[] sorted = expected.clone();
+        Arrays.sort(sorted);
+        double budget = sorted[sorted.length / 3];
+
+        Dijkstra<String> dijkstra = new Dijkstra<>();
+        Isochrone<String> isochrone = dijkstra.getReachableWithin(csrGraph, source, budget);
+
+        Set<String> inside = new HashSet<>();
+        for (int v = 0; v < expected.length; v++) {
+            if (expected[v] <= budget) {
+                inside.add(csrGraph.getVertex(v).getInfo());
+            }
+        }
+        Set<String> reached = new HashSet<>();
+        for (Vertex<String> vertex : isochrone.getVertices()) {
+            reached.add(vertex.getInfo());
+        }
+        assertEquals(inside, reached);
+        assertEquals(inside.size(), dijkstra.getSettledCount());
+        for (int i = 0; i < isochrone.size(); i++) {
+            int id = csrGraph.getId(isochrone.getVertices().get(i).getInfo());
+            assertEquals(expected[id], isochrone.getWeight(i));
+            assertTrue(i == 0 || isochrone.getWeight(i - 1) <= isochrone.getWeight(i));
+        }
+
+        // Every reached vertex lies in one of the covered quadtree cells.
+        Quadtree<String> quadtree = new Quadtree<>(new Quadtree.Rectangle(0, 0, 1e8, 1e8));
+        for (Vertex<String> vertex : dtGraph.getAllVertices()) {
+            quadtree.insert(vertex);
+        }
+        List<Quadtree.Rectangle> cells = isochrone.getCells(quadtree);
+        for (Vertex<String> vertex : isochrone.getVertices()) {
+            assertTrue(cells.stream().anyMatch(cell -> cell.contains(vertex)));
+        }
+        assertTrue(cells.size() <= isochrone.size());
+
+        assertEquals(1, dijkstra.getReachableWithin(csrGraph, source, 0.0).size());
+        assertThrows(IllegalArgumentException.class, () -> dijkstra.getReachableWithin(csrGraph, source, -1.0));
+    }
+
+
+    @Test
+    public void testDistanceMatrix(@TempDir File dir) throws Exception {
+        DistanceMatrix<String> onHeap = DistanceMatrix.compute(csrGraph, 4);
+        DistanceMatrix<String> inFile = DistanceMatrix.compute(csrGraph, 2, new File(dir, "matrix.bin"));
+
+        for (int from = 0; from < csrGraph.numberOfVertices(); from++) {
+            double[] expected = new Dijkstra<String>().getLowestWeights(csrGraph, from);
+            assertArrayEquals(expected, onHeap.getRow(from));
+            assertArrayEquals(expected, inFile.getRow(from));
+            for (int to = 0; to < csrGraph.numberOfVertices(); to += 7) {
+                assertEquals(expected[to], inFile.getWeight(from, to));
+            }
+        }
+        assertEquals(onHeap.getWeight(3, 9),
+                onHeap.getWeight(csrGraph.getVertex(3), csrGraph.getVertex(9)));
+        Vertex<String> unknown = new Vertex<>(0, 0, 100, "Unknown");
+        assertEquals(Double.POSITIVE_INFINITY, onHeap.getWeight(unknown, csrGraph.getVertex(9)));
+        assertEquals(Double.POSITIVE_INFINITY, inFile.getWeight(csrGraph.getVertex(3), unknown));
+    }
+
+
+    @Test
+    public void testRouteServiceBatch() {
+        List<Vertex<String>> vertices = dtGraph.getAllVertices();
+        List<RouteRequest<String>> requests = new ArrayList<>();
+        for (int i = 0; i < vertices.size(); i += 2) {
+            requests.add(new RouteRequest<>(vertices.get(i), vertices.get(vertices.size() - 1 - i)));
+        }
+
+        try (RouteService<String> service = new RouteService<>(csrGraph, 4)) {
+            List<PathResult<String>> paths = service.routeAllAndWait(requests);
+            assertEquals(requests.size(), paths.size());
+            for (int i = 0; i < requests.size(); i++) {
+                PathResult<String> expected = new Dijkstra<String>()
+                        .getLowWeightPath(csrGraph, requests.get(i).getFrom(), requests.get(i).getTo());
+                assertEquals(expected.getVertices(), paths.get(i).getVertices());
+                assertEquals(expected.getTotalWeight(), paths.get(i).getTotalWeight(), 1e-6);
+            }
+        }
+    }
+
+
+    @Test
+    public void testYenKShortestPaths() {
+        List<Vertex<String>> vertices = dtGraph.getAllVertices();
+        Vertex<String> start = vertices.get(0);
+        Vertex<String> end = vertices.get(vertices.size() - 1);
+
+        List<PathResult<String>> paths = new YenKShortestPaths<>(dtGraph).getLowWeightPaths(start, end, 8);
+        assertEquals(8, paths.size());
+        assertEquals(new Dijkstra<String>().getLowWeightPath(csrGraph, start, end).getTotalWeight(),
+                paths.get(0).getTotalWeight(), 1e-6);
+
+        Set<List<Vertex<String>>> distinct = new HashSet<>();
+        for (int p = 0; p < paths.size(); p++) {
+            PathResult<String> path = paths.get(p);
+            assertTrue(distinct.add(path.getVertices()));
+            assertEquals(path.getVertices().size(), new HashSet<>(path.getVertices()).size());
+            assertEquals(start, path.getVertices().get(0));
+            assertEquals(end, path.getVertices().get(path.getVertices().size() - 1));
+            if (p > 0) {
+                assertTrue(path.getTotalWeight() >= paths.get(p - 1).getTotalWeight() - 1e-6);
+            }
+        }
+    }
+
+
+    @Test
+    public void testYenKShortestPathsSmallGraph() {
+        // Two routes from A to D, through B or through C, and no third one.
+        Graph<String> graph = new Graph<>();
+        graph.addVertex(new Vertex<>(0, 0, 100, "A"));
+        graph.addVertex(new Vertex<>(100, 10, 100, "B"));
+        graph.addVertex(new Vertex<>(100, -50, 100, "C"));
+        graph.addVertex(new Vertex<>(200, 0, 100, "D"));
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "D");
+        graph.addEdge("A", "C");
+        graph.addEdge("C", "D");
+
+        List<PathResult<String>> paths = new YenKShortestPaths<>(graph)
+                .getLowWeightPaths(graph.getVertex("A"), graph.getVertex("D"), 5);
+        assertEquals(2, paths.size());
+        assertEquals("B", paths.get(0).getVertices().get(1).getInfo());
+        assertEquals("C", paths.get(1).getVertices().get(1).getInfo());
+        assertThrows(IllegalArgumentException.class, () -> new YenKShortestPaths<>(graph)
+                .getLowWeightPaths(graph.getVertex("A"), graph.getVertex("D"), YenKShortestPaths.MAX_PATHS + 1));
+    }
+
+
+    @Test
+    public void testDeltaSteppingMatchesDijkstra() {
+        // Large enough for the frontiers to be relaxed in parallel.
+        Random random = new Random(7);
+        Graph<String> points = new Graph<>();
+        for (int i = 0; i < 5000; i++) {
+            points.addVertex(new Vertex<>(random.nextDouble() * 100_000, random.nextDouble() * 100_000,
+                    100 + random.nextInt(10_000), "V" + i));
+        }
+        CsrGraph<String> large = new Delaunay<String>().triangulate(points).freeze();
+
+        for (CsrGraph<String> graph : List.of(csrGraph, large)) {
+            DeltaStepping<String> tuned = new DeltaStepping<>(4, 0.0);
+            DeltaStepping<String> narrow = new DeltaStepping<>(2, DeltaStepping.tuneDelta(graph) / 10);
+            for (int start = 0; start < graph.numberOfVertices(); start += graph.numberOfVertices() / 5) {
+                double[] expected = new Dijkstra<String>().getLowestWeights(graph, start);
+                assertArrayEquals(expected, tuned.getLowestWeights(graph, start));
+                assertArrayEquals(expected, narrow.getLowestWeights(graph, start));
+            }
+        }
+    }
+
+
+    @Test
+    public void testWidestPathMatchesBottleneckTree() {
+        WidestPath<String> search = new WidestPath<>(csrGraph);
+        WidestPath<String> tree = new WidestPath<>(csrGraph).precompute();
+        List<Vertex<String>> vertices = dtGraph.getAllVertices();
+
+        for (int i = 0; i < vertices.size(); i += 2) {
+            for (int j = 0; j < vertices.size(); j++) {
+                double expected = search.getBottleneck(vertices.get(i), vertices.get(j));
+                assertEquals(expected, tree.getBottleneck(vertices.get(i), vertices.get(j)));
+                if (i == j) {
+                    continue;
+                }
+                for (WidestPath<String> widest : List.of(search, tree)) {
+                    PathResult<String> path = widest.getWidestPath(vertices.get(i), vertices.get(j));
+                    double narrowest = Double.POSITIVE_INFINITY;
+                    for (Vertex<String> vertex : path.getVertices()) {
+                        narrowest = Math.min(narrowest, vertex.getBW());
+                    }
+                    assertEquals(expected, narrowest);
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testWidestPathAvoidsNarrowHall() {
+        Graph<String> graph = new Graph<>();
+        graph.addVertex(new Vertex<>(0, 0, 100, "A"));
+        graph.addVertex(new Vertex<>(100, 0, 10, "B"));
+        graph.addVertex(new Vertex<>(200, 0, 100, "D"));
+        graph.addVertex(new Vertex<>(0, 300, 50, "C"));
+        graph.addVertex(new Vertex<>(200, 300, 40, "E"));
+        graph.addVertex(new Vertex<>(900, 900, 100, "F"));
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "D");
+        graph.addEdge("A", "C");
+        graph.addEdge("C", "E");
+        graph.addEdge("E", "D");
+        CsrGraph<String> snapshot = graph.freeze();
+
+        for (WidestPath<String> widest : List.of(new WidestPath<>(snapshot), new WidestPath<>(snapshot).precompute())) {
+            assertEquals(40, widest.getBottleneck(graph.getVertex("A"), graph.getVertex("D")));
+            assertEquals(List.of("A", "C", "E", "D"), widest.getWidestPath(graph.getVertex("A"), graph.getVertex("D"))
+                    .getVertices().stream().map(Vertex::getInfo).toList());
+            assertEquals(0, widest.getBottleneck(graph.getVertex("A"), graph.getVertex("F")));
+            assertTrue(widest.getWidestPath(graph.getVertex("A"), graph.getVertex("F")).isEmpty());
+        }
+        assertEquals(4, new BottleneckTree<>(snapshot, new double[snapshot.numberOfArcs()]).numberOfTreeEdges());
+    }
+}
@@ -0,0 +1,104 @@
+import model.prioQ.DoubleMinHeap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DoubleMinHeapTest {
+
+    @Test
+    public void testExtractInOrder() {
+        DoubleMinHeap heap = new DoubleMinHeap(5, true);
+
+        heap.insert(0, 250000);
+        heap.insert(1, 2400000);
+        heap.insert(2, 75);
+        heap.insert(3, 150000);
+        heap.insert(4, 700000);
+
+        assertEquals(75, heap.peekKey());
+        assertEquals(2, heap.extractMin());
+        assertEquals(3, heap.extractMin());
+        assertEquals(0, heap.extractMin());
+        assertEquals(4, heap.extractMin());
+        assertEquals(1, heap.extractMin());
+        assertTrue(heap.isEmpty());
+    }
+
+
+    @Test
+    public void testDecreaseKeyAndContains() {
+        DoubleMinHeap heap = new DoubleMinHeap(3, true);
+        heap.insert(0, 10);
+        heap.insert(1, 20);
+        heap.insert(2, 30);
+
+        heap.decreaseKey(2, 5);
+        heap.insertOrDecrease(1, 50);
+
+        assertTrue(heap.contains(2));
+        assertEquals(5, heap.getKey(2));
+        assertEquals(20, heap.getKey(1));
+        assertEquals(2, heap.extractMin());
+        assertFalse(heap.contains(2));
+        assertEquals(Double.POSITIVE_INFINITY, heap.getKey(2));
+    }
+
+
+    @Test
+    public void testRandomOperationsKeepInvariant() {
+        int n = 500;
+        Random random = new Random(42);
+        DoubleMinHeap heap = new DoubleMinHeap(n, true);
+        double[] expected = new double[n];
+        Arrays.fill(expected, Double.POSITIVE_INFINITY);
+
+        for (int i = 0; i < 5000; i++) {
+            int id = random.nextInt(n);
+            double key = random.nextDouble() * 1000;
+            if (key < expected[id] || !heap.contains(id)) {
+                expected[id] = heap.contains(id) ? Math.min(key, expected[id]) : key;
+            }
+            heap.insertOrDecrease(id, key);
+        }
+
+        double previous = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            double key = heap.peekKey();
+            int id = heap.extractMin();
+            assertTrue(key >= previous);
+            assertEquals(expected[id], key);
+            previous = key;
+        }
+    }
+
+
+    @Test
+    public void testClear() {
+        DoubleMinHeap heap = new DoubleMinHeap(4);
+        heap.insert(1, 1.0);
+        heap.insert(3, 3.0);
+        heap.clear();
+
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(1));
+        heap.insert(1, 2.0);
+        assertEquals(1, heap.size());
+    }
+
+
+    @Test
+    public void testThrowsOnInvalidOperations() {
+        DoubleMinHeap heap = new DoubleMinHeap(2);
+        heap.insert(0, 1.0);
+
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(0, 2.0));
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(2, 2.0));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(0, 5.0));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(1, 0.5));
+        heap.extractMin();
+        assertThrows(IllegalArgumentException.class, heap::extractMin);
+    }
+}
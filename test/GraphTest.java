@@ -1,9 +1,12 @@
+import model.graph.CsrGraph;
 import model.graph.Edge;
 import model.graph.Graph;
+import model.graph.GraphChangeListener;
 import model.graph.Vertex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -89,4 +92,80 @@ public class GraphTest {
         assertEquals(3, graph.numberOfVertices());
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void testFreeze() {
+        graph.addVertex(new Vertex<>(10, 10, 1, "A"));
+        graph.addVertex(new Vertex<>(20, 15, 2, "B"));
+        graph.addVertex(new Vertex<>(40, 10, 4, "C"));
+
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+
+        CsrGraph<String> csr = graph.freeze();
+        assertEquals(3, csr.numberOfVertices());
+        assertEquals(2, csr.numberOfEdges());
+        assertEquals(4, csr.numberOfArcs());
+        assertEquals(-1, csr.getId("D"));
+
+        int b = csr.getId("B");
+        assertEquals("B", csr.getVertex(b).getInfo());
+        assertEquals(2, csr.edgeEnd(b) - csr.edgeStart(b));
+
+        for (int e = csr.edgeStart(b); e < csr.edgeEnd(b); e++) {
+            String to = csr.getVertex(csr.target(e)).getInfo();
+            for (Edge<String> edge : graph.getEdges("B")) {
+                if (edge.getTo().getInfo().equals(to)) {
+                    assertEquals(edge.getWeight(), csr.weight(e));
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testListenerCanUnregisterDuringCallback() {
+        graph.addVertex(100, 100, "A");
+        graph.addVertex(200, 150, "B");
+        graph.addVertex(300, 100, "C");
+        List<String> added = new ArrayList<>();
+        GraphChangeListener<String> listener = new GraphChangeListener<>() {
+            @Override
+            public void edgeAdded(Vertex<String> from, Vertex<String> to) {
+                added.add(from.getInfo() + to.getInfo());
+                graph.removeChangeListener(this);
+            }
+        };
+        graph.addChangeListener(listener);
+
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+
+        assertEquals(List.of("AB"), added);
+    }
+
+
+    @Test
+    public void testRemoveEdge() {
+        graph.addVertex(100, 100, "A");
+        graph.addVertex(200, 150, "B");
+        graph.addVertex(300, 100, "C");
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        List<String> removed = new ArrayList<>();
+        graph.addChangeListener(new GraphChangeListener<>() {
+            @Override
+            public void edgeRemoved(Vertex<String> from, Vertex<String> to) {
+                removed.add(from.getInfo() + to.getInfo());
+            }
+        });
+
+        graph.removeEdge("B", "A");
+        graph.removeEdge("A", "C");
+        assertEquals(1, graph.numberOfEdges());
+        assertEquals(0, graph.getEdges("A").size());
+        assertEquals(1, graph.getEdges("B").size());
+        assertEquals(List.of("BA"), removed);
+    }
+
+}
@@ -0,0 +1,77 @@
+import model.prioQ.IndexedMinHeap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedMinHeapTest {
+
+    private IndexedMinHeap<String, Integer> heap;
+
+    @BeforeEach
+    public void setup() {
+        heap = new IndexedMinHeap<>(2);
+    }
+
+
+    @Test
+    public void testDequeueInOrderAndGrow() {
+        heap.enqueue("Falun", 250000);
+        heap.enqueue("Stockholm", 2400000);
+        heap.enqueue("Valbo", 75);
+        heap.enqueue("Sandviken", 150000);
+        heap.enqueue("Oslo", 700000);
+
+        assertEquals(5, heap.size());
+        assertEquals("Valbo", heap.dequeue());
+        assertEquals("Sandviken", heap.dequeue());
+        assertEquals("Falun", heap.dequeue());
+        assertEquals("Oslo", heap.dequeue());
+        assertEquals("Stockholm", heap.dequeue());
+        assertTrue(heap.isEmpty());
+    }
+
+
+    @Test
+    public void testDecreaseKey() {
+        heap.enqueue("A", 10);
+        heap.enqueue("B", 20);
+        heap.enqueue("C", 30);
+
+        heap.decreaseKey("C", 5);
+
+        assertEquals(5, heap.getWeight("C"));
+        assertEquals("C", heap.dequeue());
+        assertEquals("A", heap.dequeue());
+        assertEquals("B", heap.dequeue());
+    }
+
+
+    @Test
+    public void testContains() {
+        heap.enqueue("A", 1);
+        assertTrue(heap.contains("A"));
+        assertFalse(heap.contains("B"));
+
+        heap.dequeue();
+        assertFalse(heap.contains("A"));
+        assertNull(heap.getWeight("A"));
+    }
+
+
+    @Test
+    public void testThrowsOnDuplicateAndInvalidDecrease() {
+        heap.enqueue("A", 10);
+
+        assertThrows(IllegalArgumentException.class, () -> heap.enqueue("A", 5));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey("A", 15));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey("B", 1));
+        assertEquals(1, heap.size());
+    }
+
+
+    @Test
+    public void testThrowsOnEmptyDequeue() {
+        assertThrows(IllegalArgumentException.class, heap::dequeue);
+    }
+}
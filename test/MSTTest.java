@@ -0,0 +1,351 @@
+import model.delaunay.Delaunay;
+import model.delaunay.IncrementalDelaunay;
+import model.graph.CsrGraph;
+import model.graph.Edge;
+import model.graph.Graph;
+import model.graph.JsonToVertex;
+import model.graph.Vertex;
+import model.mst.Boruvka;
+import model.mst.ConcurrentUnionFind;
+import model.mst.DynamicMST;
+import model.mst.Kruskal;
+import model.mst.LinkCutTree;
+import model.mst.MST;
+import model.mst.MinimumSpanningTree;
+import model.mst.SpanningForest;
+import model.mst.UnionFind;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MSTTest {
+
+    private static Graph<String> dtGraph;
+    private static CsrGraph<String> csrGraph;
+    // The same halls with equal bandwidth, so both directions of an edge weigh the same.
+    private static CsrGraph<String> symmetricGraph;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        Graph<String> graph = new Graph<>();
+        Graph<String> equalBandwidth = new Graph<>();
+        for (Vertex<String> v : JsonToVertex.readJson(false)) {
+            graph.addVertex(v);
+            equalBandwidth.addVertex(new Vertex<>(v.getX(), v.getY(), 100, v.getInfo()));
+        }
+        dtGraph = new Delaunay<String>().triangulate(graph);
+        csrGraph = dtGraph.freeze();
+        symmetricGraph = new Delaunay<String>().triangulate(equalBandwidth).freeze();
+    }
+
+    // Sums the lighter direction of every tree edge.
+    private double treeWeight(CsrGraph<String> snapshot, Graph<String> tree) {
+        double total = 0;
+        for (Vertex<String> v : tree.getAllVertices()) {
+            int from = snapshot.getId(v.getInfo());
+            for (Edge<String> edge : tree.getEdges(v.getInfo())) {
+                int to = snapshot.getId(edge.getTo().getInfo());
+                if (from < to) {
+                    total += Math.min(arcWeight(snapshot, from, to), arcWeight(snapshot, to, from));
+                }
+            }
+        }
+        return total;
+    }
+
+    // The edges of a tree as sorted pairs of vertex ids.
+    private Set<String> edgeSet(Graph<String> tree) {
+        Set<String> edges = new HashSet<>();
+        for (Vertex<String> v : tree.getAllVertices()) {
+            for (Edge<String> edge : tree.getEdges(v.getInfo())) {
+                String a = v.getInfo();
+                String b = edge.getTo().getInfo();
+                edges.add(a.compareTo(b) < 0 ? a + "|" + b : b + "|" + a);
+            }
+        }
+        return edges;
+    }
+
+    private double forestWeight(Graph<String> graph) {
+        CsrGraph<String> snapshot = graph.freeze();
+        return Kruskal.totalWeight(snapshot, new Kruskal<String>().createForest(snapshot));
+    }
+
+    private double arcWeight(CsrGraph<String> snapshot, int from, int to) {
+        for (int e = snapshot.edgeStart(from); e < snapshot.edgeEnd(from); e++) {
+            if (snapshot.target(e) == to) {
+                return snapshot.weight(e);
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+
+    @Test
+    public void testKruskalMatchesPrim() {
+        Vertex<String> root = symmetricGraph.getVertex(0);
+        List<MinimumSpanningTree<String>> algorithms = List.of(new MST<>(), new Kruskal<>());
+        Graph<String> prim = algorithms.get(0).createMST(symmetricGraph, root);
+        Graph<String> kruskal = algorithms.get(1).createMST(symmetricGraph, root);
+
+        assertEquals(symmetricGraph.numberOfVertices(), kruskal.numberOfVertices());
+        assertEquals(symmetricGraph.numberOfVertices() - 1, kruskal.numberOfEdges());
+        assertEquals(treeWeight(symmetricGraph, prim), treeWeight(symmetricGraph, kruskal), 1e-6);
+        assertEquals(Kruskal.totalWeight(symmetricGraph, new Kruskal<String>().createForest(symmetricGraph)),
+                treeWeight(symmetricGraph, kruskal), 1e-6);
+    }
+
+
+    @Test
+    public void testKruskalUsesLighterDirection() {
+        Vertex<String> root = dtGraph.getAllVertices().getFirst();
+        Graph<String> kruskal = new Kruskal<String>().createMST(dtGraph, root);
+        Graph<String> prim = new MST<String>().createMST(dtGraph, root);
+
+        assertEquals(csrGraph.numberOfVertices() - 1, kruskal.numberOfEdges());
+        // Both directions of an edge weigh differently here, Prim keys on the lighter one as well.
+        assertEquals(edgeSet(prim), edgeSet(kruskal));
+        assertEquals(edgeSet(new MST<String>().createMST(csrGraph, root)), edgeSet(kruskal));
+        assertEquals(treeWeight(csrGraph, prim), treeWeight(csrGraph, kruskal), 1e-6);
+    }
+
+
+    @Test
+    public void testKruskalSpansForest() {
+        Graph<String> graph = new Graph<>();
+        graph.addVertex(0, 0, "A");
+        graph.addVertex(10, 0, "B");
+        graph.addVertex(0, 10, "C");
+        graph.addVertex(500, 500, "D");
+        graph.addVertex(510, 500, "E");
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("A", "C");
+        graph.addEdge("D", "E");
+        CsrGraph<String> snapshot = graph.freeze();
+
+        assertEquals(3, new Kruskal<String>().createForest(snapshot).length);
+        Graph<String> tree = new Kruskal<String>().createMST(snapshot, graph.getVertex("A"));
+        assertEquals(3, tree.numberOfVertices());
+        assertEquals(2, tree.numberOfEdges());
+        assertNull(tree.getVertex("D"));
+    }
+
+
+    @Test
+    public void testBoruvkaMatchesKruskal() {
+        // Large enough for the edges to be scanned in parallel.
+        Random random = new Random(11);
+        Graph<String> points = new Graph<>();
+        for (int i = 0; i < 5000; i++) {
+            points.addVertex(new Vertex<>(random.nextDouble() * 100_000, random.nextDouble() * 100_000,
+                    100 + random.nextInt(10_000), "V" + i));
+        }
+        CsrGraph<String> large = new Delaunay<String>().triangulate(points).freeze();
+
+        for (CsrGraph<String> graph : List.of(csrGraph, symmetricGraph, large)) {
+            int[] expected = new Kruskal<String>().createForest(graph);
+            Arrays.sort(expected);
+            for (int parallelism : new int[]{1, 4}) {
+                int[] forest = new Boruvka<String>(parallelism).createForest(graph);
+                Arrays.sort(forest);
+                assertArrayEquals(expected, forest);
+            }
+        }
+
+        Vertex<String> root = symmetricGraph.getVertex(0);
+        Graph<String> tree = new Boruvka<String>(2).createMST(symmetricGraph, root);
+        assertEquals(symmetricGraph.numberOfVertices() - 1, tree.numberOfEdges());
+        assertEquals(treeWeight(symmetricGraph, new MST<String>().createMST(symmetricGraph, root)),
+                treeWeight(symmetricGraph, tree), 1e-6);
+
+        // On the real halls both directions of an edge weigh differently, all three pick the same tree.
+        Vertex<String> hall = csrGraph.getVertex(0);
+        Set<String> prim = edgeSet(new MST<String>().createMST(csrGraph, hall));
+        assertEquals(prim, edgeSet(new Kruskal<String>().createMST(csrGraph, hall)));
+        assertEquals(prim, edgeSet(new Boruvka<String>(2).createMST(csrGraph, hall)));
+        assertThrows(IllegalArgumentException.class, () -> new Boruvka<String>(0));
+    }
+
+
+    @Test
+    public void testKruskalFromVertexList() throws Exception {
+        List<Vertex<String>> vertices = JsonToVertex.readJson(false);
+        int[] edges = new Delaunay<String>().triangulateEdges(vertices);
+        assertEquals(dtGraph.numberOfEdges(), edges.length / 2);
+        for (int i = 0; i < edges.length; i += 2) {
+            String to = vertices.get(edges[i + 1]).getInfo();
+            assertTrue(dtGraph.getEdges(vertices.get(edges[i]).getInfo()).stream()
+                    .anyMatch(edge -> edge.getTo().getInfo().equals(to)));
+        }
+
+        Graph<String> tree = new Kruskal<String>().createMST(vertices, vertices.get(3));
+        Graph<String> expected = new Kruskal<String>().createMST(csrGraph, vertices.get(3));
+        assertEquals(csrGraph.numberOfVertices(), tree.numberOfVertices());
+        assertEquals(csrGraph.numberOfVertices() - 1, tree.numberOfEdges());
+        assertEquals(treeWeight(csrGraph, expected), treeWeight(csrGraph, tree), 1e-6);
+        assertEquals(0, new Kruskal<String>().createMST(vertices, new Vertex<>(0, 0, "X")).numberOfVertices());
+    }
+
+
+    @Test
+    public void testKruskalFromVertexListWithSharedCoordinates() throws Exception {
+        List<Vertex<String>> vertices = new ArrayList<>(JsonToVertex.readJson(false));
+        // Halls at the same place as others but with another bandwidth, so the edge weights depend
+        // on which of them the triangulation keeps.
+        for (int i = 10; i < vertices.size(); i += 10) {
+            Vertex<String> v = vertices.get(i);
+            vertices.add(new Vertex<>(v.getX(), v.getY(), v.getBW() * 3 + 7, v.getInfo() + " copy"));
+        }
+        Graph<String> graph = new Graph<>();
+        for (Vertex<String> v : vertices) {
+            graph.addVertex(v);
+        }
+        Graph<String> triangulated = new Delaunay<String>().triangulate(graph);
+        Vertex<String> root = vertices.get(3);
+
+        Graph<String> expected = new Kruskal<String>().createMST(triangulated, root);
+        Graph<String> tree = new Kruskal<String>().createMST(vertices, root);
+        assertEquals(triangulated.numberOfVertices(), tree.numberOfVertices());
+        assertEquals(edgeSet(expected), edgeSet(tree));
+    }
+
+
+    @Test
+    public void testDynamicMSTFollowsGraph() throws Exception {
+        List<Vertex<String>> all = JsonToVertex.readJson(false);
+        Graph<String> first = new Graph<>();
+        List<Vertex<String>> later = new ArrayList<>();
+        for (int i = 0; i < all.size(); i++) {
+            if (i % 5 == 0) {
+                later.add(all.get(i));
+            } else {
+                first.addVertex(all.get(i));
+            }
+        }
+        Graph<String> graph = new Delaunay<String>().triangulate(first);
+        DynamicMST<String> dynamic = new DynamicMST<>(graph);
+        IncrementalDelaunay<String> delaunay = new IncrementalDelaunay<>(graph);
+        assertMatchesFreshMST(graph, dynamic);
+
+        for (Vertex<String> v : later) {
+            assertFalse(delaunay.insert(v).isEmpty());
+            assertMatchesFreshMST(graph, dynamic);
+            assertEquals(graph.numberOfVertices() - 1, dynamic.numberOfTreeEdges());
+        }
+        assertEquals(edgeSet(dtGraph), edgeSet(graph));
+
+        for (int i = 0; i < all.size(); i += 7) {
+            graph.remove(all.get(i).getInfo());
+            assertMatchesFreshMST(graph, dynamic);
+        }
+        Graph<String> forest = dynamic.toGraph();
+        assertEquals(graph.numberOfVertices(), forest.numberOfVertices());
+        assertEquals(dynamic.numberOfTreeEdges(), forest.numberOfEdges());
+
+        Vertex<String> extra = new Vertex<>(all.get(0).getX(), all.get(0).getY(), all.get(0).getBW(), all.get(0).getInfo());
+        delaunay.insert(extra);
+        assertMatchesFreshMST(graph, dynamic);
+        assertThrows(IllegalArgumentException.class, () -> delaunay.insert(extra));
+    }
+
+
+    // The graph is the triangulation of its vertices and the forest is its minimum spanning tree.
+    private void assertMatchesFreshMST(Graph<String> graph, DynamicMST<String> dynamic) {
+        Graph<String> fresh = new Delaunay<String>().triangulate(graph);
+        assertEquals(edgeSet(fresh), edgeSet(graph));
+        Graph<String> expected = new MST<String>().createMST(fresh, fresh.getAllVertices().getFirst());
+        assertEquals(edgeSet(expected), edgeSet(dynamic.toGraph()));
+        assertEquals(forestWeight(graph), dynamic.getTotalWeight(), 1e-6);
+    }
+
+
+    @Test
+    public void testLinkCutTree() {
+        LinkCutTree tree = new LinkCutTree();
+        int[] nodes = new int[5];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = tree.addNode(i);
+        }
+        tree.link(nodes[0], nodes[3]);
+        tree.link(nodes[3], nodes[1]);
+        tree.link(nodes[1], nodes[2]);
+        assertEquals(nodes[3], tree.pathMax(nodes[0], nodes[2]));
+        assertEquals(nodes[2], tree.pathMax(nodes[1], nodes[2]));
+        assertFalse(tree.connected(nodes[0], nodes[4]));
+        assertThrows(IllegalArgumentException.class, () -> tree.link(nodes[0], nodes[2]));
+
+        tree.cut(nodes[3], nodes[1]);
+        assertFalse(tree.connected(nodes[0], nodes[2]));
+        assertTrue(tree.connected(nodes[1], nodes[2]));
+        assertThrows(IllegalArgumentException.class, () -> tree.cut(nodes[0], nodes[2]));
+    }
+
+
+    @Test
+    public void testSpanningForestPerComponent() throws Exception {
+        // Removing the low bandwidth halls splits the triangulation into islands.
+        Graph<String> filtered = new Delaunay<String>().triangulate(dtGraph);
+        for (Vertex<String> v : JsonToVertex.readJson(false)) {
+            if (v.getBW() < 1000) {
+                filtered.remove(v.getInfo());
+            }
+        }
+        filtered.addVertex(-5000, -5000, "Island");
+        CsrGraph<String> snapshot = filtered.freeze();
+        int[] expected = new Kruskal<String>().createForest(snapshot);
+
+        for (int parallelism : new int[]{1, 4}) {
+            SpanningForest<String> forest = SpanningForest.build(snapshot, parallelism);
+            assertTrue(forest.numberOfTrees() > 2);
+            assertEquals(snapshot.numberOfVertices() - expected.length, forest.numberOfTrees());
+            assertEquals(Kruskal.totalWeight(snapshot, expected), forest.getTotalCost(), 1e-6);
+
+            int vertices = 0;
+            double cost = 0;
+            for (int c = 0; c < forest.numberOfTrees(); c++) {
+                Graph<String> tree = forest.getTree(c);
+                assertEquals(tree.numberOfVertices() - 1, tree.numberOfEdges());
+                assertEquals(treeWeight(snapshot, tree), forest.getCost(c), 1e-6);
+                for (Vertex<String> v : tree.getAllVertices()) {
+                    assertEquals(c, forest.getComponent(v));
+                }
+                vertices += tree.numberOfVertices();
+                cost += forest.getCost(c);
+            }
+            assertEquals(snapshot.numberOfVertices(), vertices);
+            assertEquals(forest.getTotalCost(), cost, 1e-6);
+            assertEquals(expected.length, forest.toGraph().numberOfEdges());
+            assertEquals(1, forest.getTree(forest.getComponent(filtered.getVertex("Island"))).numberOfVertices());
+        }
+    }
+
+
+    @Test
+    public void testUnionFind() {
+        UnionFind sets = new UnionFind(6);
+        assertTrue(sets.union(0, 1));
+        assertTrue(sets.union(2, 3));
+        assertTrue(sets.union(1, 3));
+        assertFalse(sets.union(0, 2));
+        assertTrue(sets.connected(0, 3));
+        assertFalse(sets.connected(0, 4));
+        assertEquals(3, sets.numberOfSets());
+
+        ConcurrentUnionFind concurrent = new ConcurrentUnionFind(6);
+        assertTrue(concurrent.union(5, 1));
+        assertTrue(concurrent.union(3, 5));
+        assertFalse(concurrent.union(1, 3));
+        // The lowest id represents the set.
+        assertEquals(1, concurrent.find(3));
+        assertEquals(4, concurrent.find(4));
+    }
+}
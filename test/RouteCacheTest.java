@@ -0,0 +1,122 @@
+import model.dijkstra.PathResult;
+import model.graph.Graph;
+import model.graph.Vertex;
+import model.route.RouteCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RouteCacheTest {
+
+    public Graph<String> graph;
+
+    // A - B - C in a row with D below B, E is far away and only connected to A.
+    @BeforeEach
+    public void setup() {
+        graph = new Graph<>();
+        graph.addVertex(new Vertex<>(0, 0, 100, "A"));
+        graph.addVertex(new Vertex<>(100, 0, 100, "B"));
+        graph.addVertex(new Vertex<>(200, 0, 100, "C"));
+        graph.addVertex(new Vertex<>(100, 100, 100, "D"));
+        graph.addVertex(new Vertex<>(0, 5000, 100, "E"));
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("B", "D");
+        graph.addEdge("A", "E");
+    }
+
+
+    @Test
+    public void testHitsAndMisses() {
+        RouteCache<String> cache = new RouteCache<>(graph, 10, 100);
+        PathResult<String> first = cache.route(graph.getVertex("A"), graph.getVertex("C"));
+        PathResult<String> second = cache.route(graph.getVertex("A"), graph.getVertex("C"));
+
+        assertSame(first, second);
+        assertEquals(3, first.getVertices().size());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        RouteCache<String> cache = new RouteCache<>(graph, 2, 100);
+        cache.route(graph.getVertex("A"), graph.getVertex("C"));
+        cache.route(graph.getVertex("A"), graph.getVertex("D"));
+        cache.route(graph.getVertex("A"), graph.getVertex("C"));
+        cache.route(graph.getVertex("C"), graph.getVertex("D"));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        cache.route(graph.getVertex("A"), graph.getVertex("C"));
+        assertEquals(2, cache.getHits());
+    }
+
+
+    @Test
+    public void testEvictsOnVertexCount() {
+        RouteCache<String> cache = new RouteCache<>(graph, 10, 5);
+        cache.route(graph.getVertex("A"), graph.getVertex("C"));
+        cache.route(graph.getVertex("C"), graph.getVertex("D"));
+
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getEvictions());
+    }
+
+
+    @Test
+    public void testInvalidatesOnlyRoutesThroughChangedVertex() {
+        RouteCache<String> cache = new RouteCache<>(graph, 10, 100);
+        cache.route(graph.getVertex("A"), graph.getVertex("C"));
+        cache.route(graph.getVertex("A"), graph.getVertex("E"));
+
+        graph.getVertex("C").setZ(200);
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getInvalidations());
+
+        graph.remove("E");
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getInvalidations());
+    }
+
+
+    @Test
+    public void testRemovedEdgeInvalidatesRoutesUsingIt() {
+        RouteCache<String> cache = new RouteCache<>(graph, 10, 100);
+        cache.route(graph.getVertex("A"), graph.getVertex("C"));
+        cache.route(graph.getVertex("A"), graph.getVertex("D"));
+        cache.route(graph.getVertex("A"), graph.getVertex("E"));
+
+        graph.removeEdge("B", "C");
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getInvalidations());
+    }
+
+
+    @Test
+    public void testAddedEdgeInvalidatesRoutesItCanImprove() {
+        graph.addVertex(new Vertex<>(50, 2500, 100, "F"));
+        graph.addVertex(new Vertex<>(100, 2400, 100, "G"));
+        graph.addVertex(new Vertex<>(9000, 9000, 100, "H"));
+        graph.addEdge("E", "F");
+        graph.addEdge("G", "D");
+
+        RouteCache<String> cache = new RouteCache<>(graph, 10, 100);
+        PathResult<String> around = cache.route(graph.getVertex("E"), graph.getVertex("D"));
+        assertEquals(List.of("E", "A", "B", "D"), around.getVertices().stream().map(Vertex::getInfo).toList());
+
+        // An edge far away from the route cannot make it lighter.
+        graph.addEdge("H", "G");
+        assertEquals(1, cache.size());
+
+        // F - G does not touch the route but gives a shorter way from E to D.
+        graph.addEdge("F", "G");
+        assertEquals(0, cache.size());
+        PathResult<String> direct = cache.route(graph.getVertex("E"), graph.getVertex("D"));
+        assertEquals(List.of("E", "F", "G", "D"), direct.getVertices().stream().map(Vertex::getInfo).toList());
+    }
+}
@@ -0,0 +1,125 @@
+import model.alt.Landmarks;
+import model.ch.ContractionHierarchy;
+import model.delaunay.Delaunay;
+import model.dijkstra.Dijkstra;
+import model.dijkstra.PathResult;
+import model.graph.CsrGraph;
+import model.graph.Graph;
+import model.graph.JsonToVertex;
+import model.graph.Vertex;
+import model.hublabel.HubLabels;
+import model.route.LatencyHistogram;
+import model.route.RoutePlanner;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoutePlannerTest {
+
+    private static CsrGraph<String> csrGraph;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        Graph<String> graph = new Graph<>();
+        for (Vertex<String> v : JsonToVertex.readJson(false)) {
+            graph.addVertex(v);
+        }
+        csrGraph = new Delaunay<String>().triangulate(graph).freeze();
+    }
+
+
+    @Test
+    public void testPlannerMatchesDijkstra() {
+        RoutePlanner<String> planner = new RoutePlanner<>(csrGraph);
+        planner.setLandmarks(Landmarks.build(csrGraph, 4, Landmarks.Selection.PLANAR));
+        planner.setContractionHierarchy(new ContractionHierarchy<>(csrGraph));
+        planner.setHubLabels(HubLabels.build(csrGraph, 1));
+
+        List<Vertex<String>> vertices = csrGraph.getAllVertices();
+        long queries = 0;
+        for (int i = 0; i < vertices.size(); i += 3) {
+            for (int j = 1; j < vertices.size(); j += 4) {
+                PathResult<String> expected = new Dijkstra<String>().getLowWeightPath(csrGraph, vertices.get(i), vertices.get(j));
+                PathResult<String> actual = planner.route(vertices.get(i), vertices.get(j));
+                assertEquals(expected.getTotalWeight(), actual.getTotalWeight(), 1e-6);
+                assertEquals(expected.getTotalWeight(), planner.getLowestWeight(vertices.get(i), vertices.get(j)), 1e-6);
+                queries++;
+            }
+        }
+
+        long routed = 0;
+        for (RoutePlanner.Engine engine : RoutePlanner.Engine.values()) {
+            if (engine != RoutePlanner.Engine.HUB_LABELS) {
+                routed += planner.getHistogram(engine).getCount();
+            }
+        }
+        assertEquals(queries, routed);
+        assertEquals(queries, planner.getHistogram(RoutePlanner.Engine.HUB_LABELS).getCount());
+        assertFalse(planner.report().isEmpty());
+    }
+
+
+    @Test
+    public void testPlannerUsesAvailableEngines() {
+        RoutePlanner<String> planner = new RoutePlanner<>(csrGraph);
+        Vertex<String> malmo = csrGraph.getVertex(csrGraph.getId("Malmö"));
+        Vertex<String> kiruna = csrGraph.getVertex(csrGraph.getId("Kiruna"));
+        assertEquals(RoutePlanner.Span.LONG, planner.spanOf(malmo, kiruna));
+        assertEquals(RoutePlanner.Span.SHORT, planner.spanOf(malmo, malmo));
+
+        assertEquals(RoutePlanner.Engine.DIJKSTRA, planner.chooseEngine(malmo, kiruna));
+        planner.setContractionHierarchy(new ContractionHierarchy<>(csrGraph));
+        assertEquals(RoutePlanner.Engine.CONTRACTION_HIERARCHY, planner.chooseEngine(malmo, kiruna));
+
+        Graph<String> otherGraph = new Graph<>();
+        otherGraph.addVertex(0, 0, "A");
+        CsrGraph<String> other = otherGraph.freeze();
+        assertThrows(IllegalArgumentException.class, () -> planner.setHubLabels(HubLabels.build(other, 1)));
+    }
+
+
+    @Test
+    public void testPlannerAdaptsToMeasuredLatency() {
+        RoutePlanner<String> planner = new RoutePlanner<>(csrGraph);
+        Vertex<String> malmo = csrGraph.getVertex(csrGraph.getId("Malmö"));
+        Vertex<String> kiruna = csrGraph.getVertex(csrGraph.getId("Kiruna"));
+
+        // Every engine gets explored until all have enough samples to compare medians.
+        for (int i = 0; i < RoutePlanner.EXPLORE_INTERVAL * RoutePlanner.MIN_SAMPLES * 3; i++) {
+            planner.route(malmo, kiruna);
+        }
+        for (RoutePlanner.Engine engine : List.of(RoutePlanner.Engine.DIJKSTRA, RoutePlanner.Engine.A_STAR,
+                RoutePlanner.Engine.BIDIRECTIONAL)) {
+            assertTrue(planner.getHistogram(engine, RoutePlanner.Span.LONG).getCount() >= RoutePlanner.MIN_SAMPLES);
+        }
+
+        RoutePlanner.Engine chosen = planner.chooseEngine(malmo, kiruna);
+        long chosenMedian = planner.getHistogram(chosen, RoutePlanner.Span.LONG).getPercentile(0.5);
+        for (RoutePlanner.Engine engine : List.of(RoutePlanner.Engine.DIJKSTRA, RoutePlanner.Engine.A_STAR,
+                RoutePlanner.Engine.BIDIRECTIONAL)) {
+            assertTrue(chosenMedian <= planner.getHistogram(engine, RoutePlanner.Span.LONG).getPercentile(0.5));
+        }
+    }
+
+
+    @Test
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(0.5));
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_500, histogram.getMean(), 1e-6);
+        assertEquals(1_000_000, histogram.getMax());
+        // Buckets are an eighth of a power of two wide, so percentiles are within 12.5 percent.
+        assertEquals(500_000, histogram.getPercentile(0.5), 500_000 * 0.125);
+        assertEquals(990_000, histogram.getPercentile(0.99), 990_000 * 0.125);
+        assertEquals(1_000_000, histogram.getPercentile(1.0));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(2.0));
+    }
+}
@@ -1,11 +1,16 @@
 package timecomplexity;
 
 import model.delaunay.Delaunay;
+import model.dijkstra.BidirectionalDijkstra;
 import model.dijkstra.Dijkstra;
+import model.graph.CsrGraph;
 import model.graph.Graph;
 import model.graph.JsonToVertex;
 import model.graph.Vertex;
+import model.mst.Boruvka;
+import model.mst.Kruskal;
 import model.mst.MST;
+import model.mst.MinimumSpanningTree;
 import model.quadtree.Quadtree;
 import view.MapCoordinateConfig;
 
@@ -22,6 +27,8 @@ public class TestTimeComplexity {
 
     private static long quadtreeBuildTime;
     private static long quadtreeSearchTime;
+    private static int dijkstraSettled;
+    private static int bidirectionalSettled;
 
     public static void main(String[] args) throws Exception {
         //Quadtree.Rectangle boundary = new Quadtree.Rectangle(594000, 6910000, 672000, 1580000);
@@ -36,11 +43,13 @@ public class TestTimeComplexity {
 
         try (FileWriter csvWriter = new FileWriter(csvFile)) {
             // CSV Head.
-            csvWriter.append("Size,Delaunay,Dijkstra,QuadtreeBuild,QuadtreeSearch,MST\n");
+            csvWriter.append("Size,Delaunay,Dijkstra,DijkstraCSR,Bidirectional,QuadtreeBuild,QuadtreeSearch,MST,MSTCSR,KruskalCSR,BoruvkaCSR,"
+                    + "DijkstraSettled,BidirectionalSettled\n");
 
             // Print out.
-            System.out.printf("%-9s | %-10s | %-10s | %-17s | %-15s | %-10s%n",
-                    "Size", "Delaunay", "Dijkstra", "Quadtree (build)", "Quadtree (search)", "MST");
+            System.out.printf("%-9s | %-10s | %-10s | %-10s | %-10s | %-17s | %-15s | %-10s | %-10s | %-12s | %-13s | %-17s%n",
+                    "Size", "Delaunay", "Dijkstra", "Dijk (CSR)", "Bidir", "Quadtree (build)", "Quadtree (search)",
+                    "MST", "MST (CSR)", "Kruskal (CSR)", "Boruvka (CSR)", "Settled (D / Bi)");
             System.out.println("  --------------------    Nanoseconds    ------------------------------");
 
             for (int size : sizes) {
@@ -65,18 +74,27 @@ public class TestTimeComplexity {
                 }
                 delaunayTime /= testRepeater;
 
+                CsrGraph<String> csrGraph = triangulatedGraph.freeze();
+
                 long dijkstraTime = measureDijkstra(triangulatedGraph, start, end);
+                long dijkstraCsrTime = measureDijkstra(csrGraph, start, end);
+                long bidirectionalTime = measureBidirectional(csrGraph, start, end);
                 Quadtree<String> quadtree = measureQuadtreeBuild(triangulatedGraph);
                 quadtreeSearchTime = measureQuadtreeSearch(quadtree, MapCoordinateConfig.getDefaultBoundary(), theOrigo);
                 long mstTime = measureMST(triangulatedGraph, start);
+                long mstCsrTime = measureMST(new MST<>(), csrGraph, start);
+                long kruskalCsrTime = measureMST(new Kruskal<>(), csrGraph, start);
+                long boruvkaCsrTime = measureMST(new Boruvka<>(), csrGraph, start);
 
                 // Print time results.
-                System.out.printf("%-9d | %-9d | %-9d | %-17d | %-15d | %-10d%n",
-                        size, delaunayTime, dijkstraTime, quadtreeBuildTime, quadtreeSearchTime, mstTime);
+                System.out.printf("%-9d | %-9d | %-9d | %-9d | %-9d | %-17d | %-15d | %-10d | %-10d | %-12d | %-13d | %-17s%n",
+                        size, delaunayTime, dijkstraTime, dijkstraCsrTime, bidirectionalTime, quadtreeBuildTime,
+                        quadtreeSearchTime, mstTime, mstCsrTime, kruskalCsrTime, boruvkaCsrTime, dijkstraSettled + " / " + bidirectionalSettled);
 
                 // CSV write.
-                csvWriter.append(String.format("%d,%d,%d,%d,%d,%d\n",
-                        size, delaunayTime, dijkstraTime, quadtreeBuildTime, quadtreeSearchTime, mstTime));
+                csvWriter.append(String.format("%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d\n",
+                        size, delaunayTime, dijkstraTime, dijkstraCsrTime, bidirectionalTime, quadtreeBuildTime,
+                        quadtreeSearchTime, mstTime, mstCsrTime, kruskalCsrTime, boruvkaCsrTime, dijkstraSettled, bidirectionalSettled));
             }
 
         } catch (IOException e) {
@@ -98,6 +116,34 @@ public class TestTimeComplexity {
     }
 
 
+    private static long measureDijkstra(CsrGraph<String> graph, Vertex<String> start, Vertex<String> end) {
+        long total = 0;
+        for (int i = 0; i < testRepeater; i++) {
+            Dijkstra<String> dijkstra = new Dijkstra<>();
+            long startTime = System.nanoTime();
+            dijkstra.getLowWeightPathGraph(graph, start, end);
+            long endTime = System.nanoTime();
+            total += (endTime - startTime);
+            dijkstraSettled = dijkstra.getSettledCount();
+        }
+        return total / testRepeater;
+    }
+
+
+    private static long measureBidirectional(CsrGraph<String> graph, Vertex<String> start, Vertex<String> end) {
+        long total = 0;
+        for (int i = 0; i < testRepeater; i++) {
+            BidirectionalDijkstra<String> bidirectional = new BidirectionalDijkstra<>();
+            long startTime = System.nanoTime();
+            bidirectional.getLowWeightPathGraph(graph, start, end);
+            long endTime = System.nanoTime();
+            total += (endTime - startTime);
+            bidirectionalSettled = bidirectional.getSettledCount();
+        }
+        return total / testRepeater;
+    }
+
+
     private static Quadtree<String> measureQuadtreeBuild(Graph<String> graph) {
         long total = 0;
         Quadtree<String> firstQuadtree = null;
@@ -142,4 +188,16 @@ public class TestTimeComplexity {
         }
         return total / testRepeater;
     }
+
+
+    private static long measureMST(MinimumSpanningTree<String> mst, CsrGraph<String> graph, Vertex<String> root) {
+        long total = 0;
+        for (int i = 0; i < testRepeater; i++) {
+            long startTime = System.nanoTime();
+            mst.createMST(graph, root);
+            long endTime = System.nanoTime();
+            total += (endTime - startTime);
+        }
+        return total / testRepeater;
+    }
 }